@@ -0,0 +1,345 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Self-contained load test for the four JWT protected controllers (no dependency besides the JDK).
+ * Every worker logs in through /authenticate, then runs a weighted mix of reads and writes in a closed loop.
+ * Throughput and latency percentiles per operation are printed and written to a Markdown results file.
+ * <p>
+ * Start the application first, ideally with seeded data (--spring.profiles.active=seed), then:
+ * java scripts/LoadTest.java --url=http://localhost:8080 --threads=16 --warmup=10 --duration=60 --mix=mixed
+ * <p>
+ * Ids are picked at random between 1 and the number of rows reported by the list endpoints, which matches
+ * the ids generated by the seeder. Rows created by the test are the only ones it deletes.
+ */
+public class LoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern TOTAL_ELEMENTS = Pattern.compile("\"totalElements\"\\s*:\\s*(\\d+)");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private static final String[] ENTITIES = {"departments", "employees", "courses", "students"};
+
+    // Relative weights of each operation per mix
+    private static final Map<String, Map<String, Integer>> MIXES = Map.of(
+            "read-only", weights(50, 35, 15, 0, 0, 0),
+            "mixed", weights(35, 30, 15, 10, 7, 3),
+            "write-heavy", weights(15, 15, 10, 30, 20, 10));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String url;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final Map<String, Long> rowCounts = new HashMap<>();
+    private final Map<String, ConcurrentLinkedQueue<Long>> createdIds = new HashMap<>();
+
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private LoadTest(String url, Map<String, Integer> mix) {
+        this.url = url;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        for (String entity : ENTITIES) {
+            createdIds.put(entity, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "url", "http://localhost:8080",
+                "threads", "16",
+                "warmup", "10",
+                "duration", "60",
+                "mix", "mixed",
+                "out", "target/loadtest-results.md"));
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+
+        Map<String, Integer> mix = MIXES.get(options.get("mix"));
+        if (mix == null) {
+            throw new IllegalArgumentException("Unknown mix " + options.get("mix") + ", expected one of " + MIXES.keySet());
+        }
+
+        LoadTest loadTest = new LoadTest(options.get("url"), mix);
+        String report = loadTest.run(Integer.parseInt(options.get("threads")),
+                Integer.parseInt(options.get("warmup")),
+                Integer.parseInt(options.get("duration")),
+                options);
+
+        System.out.println(report);
+        Path out = Path.of(options.get("out"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, report);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private String run(int threads, int warmupSeconds, int durationSeconds, Map<String, String> options) throws Exception {
+        String token = login();
+        for (String entity : ENTITIES) {
+            HttpResponse<String> response = send("GET", "/api/" + entity + "?size=1&fields=id", null, token);
+            rowCounts.put(entity, Math.max(1, extractLong(TOTAL_ELEMENTS, response.body())));
+        }
+
+        List<Worker> workers = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(done);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Thread.sleep(warmupSeconds * 1000L);
+        measuring = true;
+        long start = System.nanoTime();
+        Thread.sleep(durationSeconds * 1000L);
+        measuring = false;
+        long elapsedNanos = System.nanoTime() - start;
+        running = false;
+        done.await();
+
+        return report(workers, elapsedNanos, threads, warmupSeconds, durationSeconds, options);
+    }
+
+    private String login() throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST", "/authenticate", "{\"username\":\"admin\",\"password\":\"password\"}", null);
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private final class Worker implements Runnable {
+
+        private final CountDownLatch done;
+        private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        private String token;
+
+        private Worker(CountDownLatch done) {
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                token = login();
+                while (running) {
+                    String operation = pickOperation();
+                    String entity = ENTITIES[ThreadLocalRandom.current().nextInt(ENTITIES.length)];
+                    long start = System.nanoTime();
+                    int status = execute(operation, entity);
+                    long latency = System.nanoTime() - start;
+
+                    if (status == 401 || status == 403) {
+                        // The token lasts 30 minutes, log in again
+                        token = login();
+                    }
+                    if (measuring) {
+                        recorders.computeIfAbsent(operation + " " + entity, k -> new LatencyRecorder())
+                                .record(latency, status >= 200 && status < 300);
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println(Thread.currentThread().getName() + " stopped: " + e);
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private String pickOperation() {
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        private int execute(String operation, String entity) throws IOException, InterruptedException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long rows = rowCounts.get(entity);
+            String base = "/api/" + entity;
+            switch (operation) {
+                case "list":
+                    return send("GET", base + "?size=20&page=" + random.nextLong(Math.max(1, rows / 20)), null, token).statusCode();
+                case "get":
+                    return send("GET", base + "/" + (1 + random.nextLong(rows)), null, token).statusCode();
+                case "list-fields":
+                    return send("GET", base + "?size=100&fields=id,name&page=" + random.nextLong(Math.max(1, rows / 100)), null, token).statusCode();
+                case "create": {
+                    HttpResponse<String> response = send("POST", base, createBody(entity, random), token);
+                    if (response.statusCode() == 200) {
+                        createdIds.get(entity).add(extractLong(ID, response.body()));
+                    }
+                    return response.statusCode();
+                }
+                case "update":
+                    return send("PUT", base + "/" + (1 + random.nextLong(rows)), "{\"name\":\"Updated " + random.nextInt(1_000_000) + "\"}", token).statusCode();
+                case "delete": {
+                    Long id = createdIds.get(entity).poll();
+                    if (id == null) {
+                        // Nothing created by the test yet, fall back to a read
+                        return send("GET", base + "/" + (1 + random.nextLong(rows)), null, token).statusCode();
+                    }
+                    return send("DELETE", base + "/" + id, null, token).statusCode();
+                }
+                default:
+                    throw new IllegalArgumentException(operation);
+            }
+        }
+
+        private String createBody(String entity, ThreadLocalRandom random) {
+            String name = "Load " + random.nextInt(1_000_000);
+            if (entity.equals("students")) {
+                return "{\"name\":\"" + name + "\",\"course\":{\"id\":" + (1 + random.nextLong(rowCounts.get("courses"))) + "}}";
+            }
+            return "{\"name\":\"" + name + "\"}";
+        }
+    }
+
+    /**
+     * Latencies of one operation on one worker thread, merged when the test is over
+     */
+    private static final class LatencyRecorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+    }
+
+    private String report(List<Worker> workers, long elapsedNanos, int threads, int warmupSeconds, int durationSeconds, Map<String, String> options) {
+        Map<String, long[]> latencies = new LinkedHashMap<>();
+        Map<String, Long> errors = new HashMap<>();
+        for (Worker worker : workers) {
+            worker.recorders.forEach((operation, recorder) -> {
+                long[] merged = latencies.getOrDefault(operation, new long[0]);
+                long[] combined = Arrays.copyOf(merged, merged.length + recorder.count);
+                System.arraycopy(recorder.latencies, 0, combined, merged.length, recorder.count);
+                latencies.put(operation, combined);
+                errors.merge(operation, recorder.errors, Long::sum);
+            });
+        }
+
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append("# Load test results\n\n")
+                .append("- Date: ").append(Instant.now()).append('\n')
+                .append("- Target: ").append(url).append('\n')
+                .append("- Mix: ").append(options.get("mix")).append(' ').append(mix).append('\n')
+                .append("- Threads: ").append(threads).append(", warmup: ").append(warmupSeconds).append(" s, measured: ").append(durationSeconds).append(" s\n")
+                .append("- Rows at start: ").append(rowCounts).append("\n\n")
+                .append("| Operation | Requests | Errors | Throughput (req/s) | p50 (ms) | p90 (ms) | p99 (ms) | p99.9 (ms) | max (ms) |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+
+        long[] all = new long[0];
+        long allErrors = 0;
+        List<String> operations = new ArrayList<>(latencies.keySet());
+        operations.sort(null);
+        for (String operation : operations) {
+            long[] values = latencies.get(operation);
+            appendRow(report, operation, values, errors.get(operation), seconds);
+            long[] combined = Arrays.copyOf(all, all.length + values.length);
+            System.arraycopy(values, 0, combined, all.length, values.length);
+            all = combined;
+            allErrors += errors.get(operation);
+        }
+        appendRow(report, "**total**", all, allErrors, seconds);
+        return report.toString();
+    }
+
+    private static void appendRow(StringBuilder report, String operation, long[] values, long errors, double seconds) {
+        Arrays.sort(values);
+        report.append("| ").append(operation)
+                .append(" | ").append(values.length)
+                .append(" | ").append(errors)
+                .append(" | ").append(String.format("%.1f", values.length / seconds))
+                .append(" | ").append(millis(percentile(values, 0.50)))
+                .append(" | ").append(millis(percentile(values, 0.90)))
+                .append(" | ").append(millis(percentile(values, 0.99)))
+                .append(" | ").append(millis(percentile(values, 0.999)))
+                .append(" | ").append(millis(values.length == 0 ? 0 : values[values.length - 1]))
+                .append(" |\n");
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+
+    private static long extractLong(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private static Map<String, Integer> weights(int list, int get, int listFields, int create, int update, int delete) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("list", list);
+        weights.put("get", get);
+        weights.put("list-fields", listFields);
+        weights.put("create", create);
+        weights.put("update", update);
+        weights.put("delete", delete);
+        weights.values().removeIf(weight -> weight == 0);
+        return weights;
+    }
+}
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+#
+# Measures the time from launching the application to the first successful "GET /api/employees"
+# (login through /authenticate included), which is what matters when instances are scaled out.
+#
+# Usage: scripts/startup-benchmark.sh [jar|fast-startup|native] [runs]
+#   jar           target/casestudy-0.0.1-SNAPSHOT.jar             (mvn package)
+#   fast-startup  target/fast-startup, AOT + CDS archive          (mvn package -Pfast-startup)
+#   native        target/casestudy GraalVM native executable      (mvn -Pnative native:compile)
+#
+set -euo pipefail
+
+MODE=${1:-jar}
+RUNS=${2:-5}
+PORT=${PORT:-18080}
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR=casestudy-0.0.1-SNAPSHOT.jar
+
+case "$MODE" in
+    jar)
+        WORKDIR="$ROOT/target"
+        COMMAND=(java -jar "$JAR")
+        ;;
+    fast-startup)
+        WORKDIR="$ROOT/target/fast-startup"
+        COMMAND=(java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup -jar "$JAR")
+        ;;
+    native)
+        WORKDIR="$ROOT/target"
+        COMMAND=(./casestudy)
+        ;;
+    *)
+        echo "Unknown mode: $MODE (expected jar, fast-startup or native)" >&2
+        exit 1
+        ;;
+esac
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+results=()
+for run in $(seq 1 "$RUNS"); do
+    cd "$WORKDIR"
+    start=$(now_ms)
+    "${COMMAND[@]}" --server.port="$PORT" > "$ROOT/target/startup-benchmark-$MODE.log" 2>&1 &
+    pid=$!
+
+    while true; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited, see target/startup-benchmark-$MODE.log" >&2
+            exit 1
+        fi
+        token=$(curl -sf -X POST "http://localhost:$PORT/authenticate" \
+                    -H 'Content-Type: application/json' \
+                    -d '{"username":"admin","password":"password"}' | sed -n 's/.*"token":"\([^"]*\)".*/\1/p') || true
+        if [ -n "$token" ] && curl -sf -o /dev/null "http://localhost:$PORT/api/employees" -H "Authorization: Bearer $token"; then
+            break
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    results+=("$elapsed")
+    echo "run $run: ${elapsed} ms to first /api/employees response"
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+echo "$MODE: min ${sorted[0]} ms, median ${sorted[$(( RUNS / 2 ))]} ms, max ${sorted[$(( RUNS - 1 ))]} ms over $RUNS runs"
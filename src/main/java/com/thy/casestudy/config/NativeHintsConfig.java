@@ -0,0 +1,33 @@
+package com.thy.casestudy.config;
+
+import com.thy.casestudy.entities.listeners.ChangeEventListener;
+import com.thy.casestudy.entities.listeners.CourseEnrollmentListener;
+import com.thy.casestudy.entities.listeners.DepartmentHeadcountListener;
+import com.thy.casestudy.util.events.ChangeEvent;
+import com.thy.casestudy.util.token.JjwtRuntimeHints;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection hints for the "fast-startup" AOT build and the GraalVM native image ("-Pnative"),
+ * for what Spring cannot detect by itself: JJWT's implementation lookup, the JPA entity listener callbacks
+ * that Hibernate invokes reflectively, and types serialized outside of controller return values.
+ */
+@Configuration
+@ImportRuntimeHints({JjwtRuntimeHints.class, NativeHintsConfig.EntityListenerHints.class})
+@RegisterReflectionForBinding(ChangeEvent.class) // Written by the SSE emitter, not returned by a controller
+public class NativeHintsConfig {
+
+    static class EntityListenerHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> listener : new Class<?>[]{DepartmentHeadcountListener.class, CourseEnrollmentListener.class, ChangeEventListener.class}) {
+                hints.reflection().registerType(listener, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.thy.casestudy.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables "@Scheduled" background jobs (e.g. the counter reconciliation)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
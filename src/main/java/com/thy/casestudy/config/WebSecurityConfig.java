@@ -1,6 +1,7 @@
 package com.thy.casestudy.config;
 
 import com.thy.casestudy.util.token.JwtRequestFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -47,7 +48,10 @@ public class WebSecurityConfig {
                 .csrf(csrf -> csrf.ignoringRequestMatchers("/api/**", "/authenticate", "/h2-console/**"))
 
                 // Permit access to the specified endpoints
+                // The first matching rule wins, so the dispatcher type rules must come before "/api/**"
                 .authorizeHttpRequests(authz -> authz
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Async dispatches (e.g. the SSE change stream) belong to a request that was already authenticated
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll() // Lets 400/404 responses reach the client instead of being turned into 403
                         .requestMatchers("/authenticate").permitAll() // Allow anyone to access /authenticate
                         .requestMatchers("/h2-console/**").permitAll() // Allow anyone to access /h2-console
                         .requestMatchers("/api/**").authenticated()   // All API requests require authentication
@@ -0,0 +1,45 @@
+package com.thy.casestudy.controller;
+
+import com.thy.casestudy.controller.model.AuditStats;
+import com.thy.casestudy.util.audit.AuditEntry;
+import com.thy.casestudy.util.audit.AuditLog;
+import com.thy.casestudy.util.audit.AuditRingBuffer;
+import com.thy.casestudy.util.exceptions.BadRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Recent entries of the audit trail (newest first); the complete trail is in the audit files
+ */
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private final AuditLog auditLog;
+
+    @Autowired
+    public AuditController(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @GetMapping
+    public List<AuditEntry> getRecentEntries(@RequestParam(defaultValue = "100") int limit,
+                                             @RequestParam(required = false) String subject) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        List<AuditEntry> entries = auditLog.recent(subject == null ? limit : Integer.MAX_VALUE);
+        if (subject == null) {
+            return entries;
+        }
+        return entries.stream().filter(entry -> subject.equals(entry.getSubject())).limit(limit).toList();
+    }
+
+    @GetMapping("/stats")
+    public AuditStats getStats() {
+        AuditRingBuffer ringBuffer = auditLog.ringBuffer();
+        return new AuditStats(ringBuffer.publishedCount(), ringBuffer.droppedCount(), ringBuffer.capacity(), ringBuffer.overflowPolicy().name());
+    }
+}
@@ -0,0 +1,41 @@
+package com.thy.casestudy.controller;
+
+import com.thy.casestudy.util.events.ChangeFeed;
+import com.thy.casestudy.util.token.JwtTokenUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes create/update/delete events of departments, employees, courses and students, so the front-end does not have to poll.
+ * The JWT is validated by JwtRequestFilter once, when the connection is opened; the stream is closed when the token expires.
+ */
+@RestController
+@RequestMapping("/api/stream")
+public class ChangeStreamController {
+
+    private final ChangeFeed changeFeed;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final long maxConnectionMillis;
+
+    @Autowired
+    public ChangeStreamController(ChangeFeed changeFeed, JwtTokenUtil jwtTokenUtil,
+                                  @Value("${stream.changes.max-connection-ms:1800000}") long maxConnectionMillis) {
+        this.changeFeed = changeFeed;
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.maxConnectionMillis = maxConnectionMillis;
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam,
+                                    @RequestHeader("Authorization") String authorizationHeader) {
+        // The header is sent by EventSource on reconnect, the parameter allows resuming a brand new connection
+        Long resumeAfter = lastEventId != null ? lastEventId : lastEventIdParam;
+
+        long tokenValidity = jwtTokenUtil.getExpirationDateFromToken(authorizationHeader.substring(7)).getTime() - System.currentTimeMillis();
+        return changeFeed.subscribe(resumeAfter, Math.max(1, Math.min(maxConnectionMillis, tokenValidity)));
+    }
+}
@@ -1,8 +1,10 @@
 package com.thy.casestudy.controller;
 
+import com.thy.casestudy.controller.model.CourseDto;
+import com.thy.casestudy.controller.model.MoveRequest;
+import com.thy.casestudy.controller.model.MoveResponse;
 import com.thy.casestudy.entities.Course;
-import com.thy.casestudy.repositories.CourseRepository;
-import com.thy.casestudy.util.exceptions.ResourceNotFoundException;
+import com.thy.casestudy.service.CourseService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -13,58 +15,53 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 
-
 @RestController
 @RequestMapping("/api/courses")
 public class CourseController {
 
-    private final CourseRepository courseRepository;
+    private final CourseService courseService;
 
     @Autowired
-    public CourseController(CourseRepository courseRepository) {
-        this.courseRepository = courseRepository;
+    public CourseController(CourseService courseService) {
+        this.courseService = courseService;
     }
 
     @GetMapping
-    public Page<Course> getAllCourses(Pageable pageable) {
-        return courseRepository.findAll(pageable);
+    public Page<?> getAllCourses(@RequestParam(required = false) String fields, Pageable pageable) {
+        if (fields != null) {
+            return courseService.findAll(fields, pageable);
+        }
+        return courseService.findAll(pageable);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCoursesById(@PathVariable Long id) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
-
-        return ResponseEntity.ok(course);
+    public ResponseEntity<?> getCoursesById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(courseService.findById(id, fields));
+        }
+        return ResponseEntity.ok(courseService.findById(id));
     }
 
     @PostMapping
-    public Course createCourse(@Valid @RequestBody Course course) {
-        return courseRepository.save(course);
+    public CourseDto createCourse(@Valid @RequestBody Course course) {
+        return courseService.create(course);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Course> updateCourse(@PathVariable Long id, @RequestBody Course courseDetails) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found for this id :: " + id));
-
-        course.setName(courseDetails.getName());
+    public ResponseEntity<CourseDto> updateCourse(@PathVariable Long id, @RequestBody Course courseDetails) {
+        return ResponseEntity.ok(courseService.update(id, courseDetails));
+    }
 
-        final Course updatedCourse = courseRepository.save(course);
-        return ResponseEntity.ok(updatedCourse);
+    @PostMapping("/{id}/students/_move")
+    public MoveResponse moveStudents(@PathVariable Long id, @RequestBody MoveRequest request) {
+        return courseService.moveStudents(id, request);
     }
 
     @DeleteMapping("/{id}")
     public Map<String, Boolean> deleteCourse(@PathVariable Long id) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found for this id :: " + id));
-
-        courseRepository.delete(course);
+        courseService.delete(id);
         Map<String, Boolean> response = new HashMap<>();
         response.put("deleted", Boolean.TRUE);
         return response;
     }
-
-
 }
-
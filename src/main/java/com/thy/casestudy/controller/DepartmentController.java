@@ -1,10 +1,10 @@
 package com.thy.casestudy.controller;
 
+import com.thy.casestudy.controller.model.DepartmentDto;
+import com.thy.casestudy.controller.model.MoveRequest;
+import com.thy.casestudy.controller.model.MoveResponse;
 import com.thy.casestudy.entities.Department;
-import com.thy.casestudy.entities.Employee;
-import com.thy.casestudy.repositories.DepartmentRepository;
-import com.thy.casestudy.repositories.EmployeeRepository;
-import com.thy.casestudy.util.exceptions.ResourceNotFoundException;
+import com.thy.casestudy.service.DepartmentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -13,67 +13,55 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
-
 @RestController
 @RequestMapping("/api/departments")
 public class DepartmentController {
 
-    private final DepartmentRepository departmentRepository;
-    private final EmployeeRepository employeeRepository;
+    private final DepartmentService departmentService;
 
     @Autowired
-    public DepartmentController(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository) {
-        this.departmentRepository = departmentRepository;
-        this.employeeRepository = employeeRepository;
+    public DepartmentController(DepartmentService departmentService) {
+        this.departmentService = departmentService;
     }
 
     @GetMapping
-    public Page<Department> getAllDepartments(Pageable pageable) {
-        return departmentRepository.findAll(pageable);
+    public Page<?> getAllDepartments(@RequestParam(required = false) String fields, Pageable pageable) {
+        if (fields != null) {
+            return departmentService.findAll(fields, pageable);
+        }
+        return departmentService.findAll(pageable);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Department> getDepartmentById(@PathVariable Long id) {
-        Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found"));
-        return ResponseEntity.ok(department);
+    public ResponseEntity<?> getDepartmentById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(departmentService.findById(id, fields));
+        }
+        return ResponseEntity.ok(departmentService.findById(id));
     }
 
     @PostMapping
-    public Department createDepartment(@Valid @RequestBody Department department) {
-        return departmentRepository.save(department);
+    public DepartmentDto createDepartment(@Valid @RequestBody Department department) {
+        return departmentService.create(department);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Department> updateDepartment(@PathVariable Long id, @RequestBody Department departmentDetails) {
-        Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found for this id :: " + id));
-
-        department.setName(departmentDetails.getName());
+    public ResponseEntity<DepartmentDto> updateDepartment(@PathVariable Long id, @RequestBody Department departmentDetails) {
+        return ResponseEntity.ok(departmentService.update(id, departmentDetails));
+    }
 
-        final Department updatedDepartment = departmentRepository.save(department);
-        return ResponseEntity.ok(updatedDepartment);
+    @PostMapping("/{id}/employees/_move")
+    public MoveResponse moveEmployees(@PathVariable Long id, @RequestBody MoveRequest request) {
+        return departmentService.moveEmployees(id, request);
     }
 
     @DeleteMapping("/{id}")
     public Map<String, Boolean> deleteDepartment(@PathVariable Long id) {
-        Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found for this id :: " + id));
-
-        // Fetch employees of the department and set their department to null
-        List<Employee> employees = department.getEmployees();
-        for (Employee employee : employees) {
-            employee.setDepartment(null);
-            employeeRepository.save(employee);  // Save the updated employee
-        }
-
-        departmentRepository.delete(department);
+        departmentService.delete(id);
         Map<String, Boolean> response = new HashMap<>();
         response.put("deleted", Boolean.TRUE);
         return response;
     }
 }
-
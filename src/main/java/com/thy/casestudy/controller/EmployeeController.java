@@ -1,8 +1,8 @@
 package com.thy.casestudy.controller;
 
+import com.thy.casestudy.controller.model.EmployeeDto;
 import com.thy.casestudy.entities.Employee;
-import com.thy.casestudy.repositories.EmployeeRepository;
-import com.thy.casestudy.util.exceptions.ResourceNotFoundException;
+import com.thy.casestudy.service.EmployeeService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -17,58 +17,44 @@ import java.util.Map;
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
-    private final EmployeeRepository employeeRepository;
+    private final EmployeeService employeeService;
 
     @Autowired
-    public EmployeeController(EmployeeRepository employeeRepository) {
-        this.employeeRepository = employeeRepository;
+    public EmployeeController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
     }
 
     @GetMapping
-    public Page<Employee> getAllEmployees(Pageable pageable) {
-        return employeeRepository.findAll(pageable);
+    public Page<?> getAllEmployees(@RequestParam(required = false) String fields, Pageable pageable) {
+        if (fields != null) {
+            return employeeService.findAll(fields, pageable);
+        }
+        return employeeService.findAll(pageable);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-        return ResponseEntity.ok(employee);
+    public ResponseEntity<?> getEmployeeById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(employeeService.findById(id, fields));
+        }
+        return ResponseEntity.ok(employeeService.findById(id));
     }
 
     @PostMapping
-    public Employee createEmployee(@Valid @RequestBody Employee employee) {
-        return employeeRepository.save(employee);
+    public EmployeeDto createEmployee(@Valid @RequestBody Employee employee) {
+        return employeeService.create(employee);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employeeDetails) {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found for this id :: " + id));
-
-        if (employeeDetails.getName() != null) {
-            employee.setName(employeeDetails.getName());
-        }
-        if (employeeDetails.getDepartment() != null) {
-            employee.setDepartment(employeeDetails.getDepartment());
-        }
-
-        final Employee updatedEmployee = employeeRepository.save(employee);
-        return ResponseEntity.ok(updatedEmployee);
+    public ResponseEntity<EmployeeDto> updateEmployee(@PathVariable Long id, @RequestBody Employee employeeDetails) {
+        return ResponseEntity.ok(employeeService.update(id, employeeDetails));
     }
 
     @DeleteMapping("/{id}")
     public Map<String, Boolean> deleteEmployee(@PathVariable Long id) {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found for this id :: " + id));
-
-        employeeRepository.delete(employee);
+        employeeService.delete(id);
         Map<String, Boolean> response = new HashMap<>();
         response.put("deleted", Boolean.TRUE);
         return response;
     }
-
-
 }
-
-
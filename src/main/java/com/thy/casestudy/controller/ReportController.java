@@ -0,0 +1,126 @@
+package com.thy.casestudy.controller;
+
+import com.thy.casestudy.controller.model.CountEntry;
+import com.thy.casestudy.controller.model.HistogramBucket;
+import com.thy.casestudy.util.counters.AggregateCounters;
+import com.thy.casestudy.util.counters.KeyedCounter;
+import com.thy.casestudy.util.exceptions.BadRequestException;
+import com.thy.casestudy.util.exceptions.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Aggregate reports served from the in-memory counters, without loading "Department.employees" / "Course.students"
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private static final Comparator<CountEntry> BY_COUNT_THEN_ID = Comparator
+            .comparingLong(CountEntry::getCount)
+            .thenComparing(CountEntry::getId, Comparator.reverseOrder());
+
+    private final AggregateCounters counters;
+
+    @Autowired
+    public ReportController(AggregateCounters counters) {
+        this.counters = counters;
+    }
+
+    @GetMapping("/department-headcounts")
+    public List<CountEntry> getDepartmentHeadcounts() {
+        return all(counters.departmentHeadcounts());
+    }
+
+    @GetMapping("/department-headcounts/{id}")
+    public CountEntry getDepartmentHeadcount(@PathVariable Long id) {
+        return one(counters.departmentHeadcounts(), id, "Department not found for this id :: " + id);
+    }
+
+    @GetMapping("/department-headcounts/top")
+    public List<CountEntry> getTopDepartmentHeadcounts(@RequestParam(defaultValue = "10") int limit) {
+        return top(counters.departmentHeadcounts(), limit);
+    }
+
+    @GetMapping("/department-headcounts/histogram")
+    public List<HistogramBucket> getDepartmentHeadcountHistogram(@RequestParam(defaultValue = "10") long bucketSize) {
+        return histogram(counters.departmentHeadcounts(), bucketSize);
+    }
+
+    @GetMapping("/course-enrollments")
+    public List<CountEntry> getCourseEnrollments() {
+        return all(counters.courseEnrollments());
+    }
+
+    @GetMapping("/course-enrollments/{id}")
+    public CountEntry getCourseEnrollment(@PathVariable Long id) {
+        return one(counters.courseEnrollments(), id, "Course not found for this id :: " + id);
+    }
+
+    @GetMapping("/course-enrollments/top")
+    public List<CountEntry> getTopCourseEnrollments(@RequestParam(defaultValue = "10") int limit) {
+        return top(counters.courseEnrollments(), limit);
+    }
+
+    @GetMapping("/course-enrollments/histogram")
+    public List<HistogramBucket> getCourseEnrollmentHistogram(@RequestParam(defaultValue = "10") long bucketSize) {
+        return histogram(counters.courseEnrollments(), bucketSize);
+    }
+
+    private static List<CountEntry> all(KeyedCounter counter) {
+        List<CountEntry> entries = new ArrayList<>();
+        new TreeMap<>(counter.snapshot()).forEach((id, count) -> entries.add(new CountEntry(id, count)));
+        return entries;
+    }
+
+    private static CountEntry one(KeyedCounter counter, Long id, String notFoundMessage) {
+        if (!counter.contains(id)) {
+            throw new ResourceNotFoundException(notFoundMessage);
+        }
+        return new CountEntry(id, counter.get(id));
+    }
+
+    // Keeps only "limit" entries in a min-heap instead of sorting every key
+    private static List<CountEntry> top(KeyedCounter counter, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+
+        Map<Long, Long> snapshot = counter.snapshot();
+        // Sized from what is actually counted, "limit" comes from the client (and limit + 1 overflows for Integer.MAX_VALUE)
+        PriorityQueue<CountEntry> heap = new PriorityQueue<>(Math.min(limit, snapshot.size()) + 1, BY_COUNT_THEN_ID);
+        for (Map.Entry<Long, Long> entry : snapshot.entrySet()) {
+            heap.offer(new CountEntry(entry.getKey(), entry.getValue()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<CountEntry> result = new ArrayList<>(heap);
+        result.sort(BY_COUNT_THEN_ID.reversed());
+        return result;
+    }
+
+    private static List<HistogramBucket> histogram(KeyedCounter counter, long bucketSize) {
+        if (bucketSize < 1) {
+            throw new BadRequestException("bucketSize must be at least 1");
+        }
+
+        // Bucket start -> number of keys whose count falls into that bucket
+        TreeMap<Long, Long> buckets = new TreeMap<>();
+        for (long count : counter.snapshot().values()) {
+            buckets.merge(Math.floorDiv(count, bucketSize) * bucketSize, 1L, Long::sum);
+        }
+
+        List<HistogramBucket> result = new ArrayList<>(buckets.size());
+        buckets.forEach((from, count) -> result.add(new HistogramBucket(from, from + bucketSize - 1, count)));
+        return result;
+    }
+}
@@ -1,8 +1,8 @@
 package com.thy.casestudy.controller;
 
+import com.thy.casestudy.controller.model.StudentDto;
 import com.thy.casestudy.entities.Student;
-import com.thy.casestudy.repositories.StudentRepository;
-import com.thy.casestudy.util.exceptions.ResourceNotFoundException;
+import com.thy.casestudy.service.StudentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -17,58 +17,44 @@ import java.util.Map;
 @RequestMapping("/api/students")
 public class StudentController {
 
-    private final StudentRepository studentRepository;
+    private final StudentService studentService;
 
     @Autowired
-    public StudentController(StudentRepository studentRepository) {
-        this.studentRepository = studentRepository;
+    public StudentController(StudentService studentService) {
+        this.studentService = studentService;
     }
 
     @GetMapping
-    public Page<Student> getAllStudents(Pageable pageable) {
-        return studentRepository.findAll(pageable);
+    public Page<?> getAllStudents(@RequestParam(required = false) String fields, Pageable pageable) {
+        if (fields != null) {
+            return studentService.findAll(fields, pageable);
+        }
+        return studentService.findAll(pageable);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
-        return ResponseEntity.ok(student);
+    public ResponseEntity<?> getStudentById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(studentService.findById(id, fields));
+        }
+        return ResponseEntity.ok(studentService.findById(id));
     }
 
     @PostMapping
-    public Student createStudent(@Valid @RequestBody Student student) {
-        return studentRepository.save(student);
+    public StudentDto createStudent(@Valid @RequestBody Student student) {
+        return studentService.create(student);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Student> updateStudent(@PathVariable Long id, @RequestBody Student studentDetails) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found for this id :: " + id));
-
-        if (studentDetails.getName() != null) {
-            student.setName(studentDetails.getName());
-        }
-        if (studentDetails.getCourse() != null) {
-            student.setCourse(studentDetails.getCourse());
-        }
-
-        final Student updatedStudent = studentRepository.save(student);
-        return ResponseEntity.ok(updatedStudent);
+    public ResponseEntity<StudentDto> updateStudent(@PathVariable Long id, @RequestBody Student studentDetails) {
+        return ResponseEntity.ok(studentService.update(id, studentDetails));
     }
 
     @DeleteMapping("/{id}")
     public Map<String, Boolean> deleteStudent(@PathVariable Long id) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found for this id :: " + id));
-
-        studentRepository.delete(student);
+        studentService.delete(id);
         Map<String, Boolean> response = new HashMap<>();
         response.put("deleted", Boolean.TRUE);
         return response;
     }
-
-
 }
-
-
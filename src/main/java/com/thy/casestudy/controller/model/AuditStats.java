@@ -0,0 +1,13 @@
+package com.thy.casestudy.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AuditStats {
+    private final long published;
+    private final long dropped;
+    private final int capacity;
+    private final String overflowPolicy;
+}
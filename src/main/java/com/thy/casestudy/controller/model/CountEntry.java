@@ -0,0 +1,11 @@
+package com.thy.casestudy.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CountEntry {
+    private final Long id;
+    private final long count;
+}
@@ -0,0 +1,21 @@
+package com.thy.casestudy.controller.model;
+
+import com.thy.casestudy.entities.Course;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CourseDto {
+    private final Long id;
+    private final String name;
+    private final List<StudentDto> students;
+
+    // Must be called inside the transaction, it initializes the "students" collection
+    public static CourseDto from(Course course) {
+        return new CourseDto(course.getId(), course.getName(),
+                course.getStudents().stream().map(StudentDto::from).toList());
+    }
+}
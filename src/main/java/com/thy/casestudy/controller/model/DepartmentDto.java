@@ -0,0 +1,21 @@
+package com.thy.casestudy.controller.model;
+
+import com.thy.casestudy.entities.Department;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class DepartmentDto {
+    private final Long id;
+    private final String name;
+    private final List<EmployeeDto> employees;
+
+    // Must be called inside the transaction, it initializes the "employees" collection
+    public static DepartmentDto from(Department department) {
+        return new DepartmentDto(department.getId(), department.getName(),
+                department.getEmployees().stream().map(EmployeeDto::from).toList());
+    }
+}
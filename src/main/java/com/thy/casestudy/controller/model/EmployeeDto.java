@@ -0,0 +1,19 @@
+package com.thy.casestudy.controller.model;
+
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeDto {
+    private final Long id;
+    private final String name;
+    private final Long departmentId;
+
+    public static EmployeeDto from(Employee employee) {
+        Department department = employee.getDepartment();
+        return new EmployeeDto(employee.getId(), employee.getName(), department == null ? null : department.getId());
+    }
+}
@@ -0,0 +1,15 @@
+package com.thy.casestudy.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Number of parents (departments, courses) whose count is between "from" and "to" (both inclusive)
+ */
+@Getter
+@AllArgsConstructor
+public class HistogramBucket {
+    private final long from;
+    private final long to;
+    private final long count;
+}
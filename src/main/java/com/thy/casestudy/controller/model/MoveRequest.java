@@ -0,0 +1,20 @@
+package com.thy.casestudy.controller.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Selects the rows to move, either by id ("ids") or with a filter ("fromId" and optionally "namePrefix")
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class MoveRequest {
+    private List<Long> ids;
+    // Department / course the rows are currently in
+    private Long fromId;
+    private String namePrefix;
+}
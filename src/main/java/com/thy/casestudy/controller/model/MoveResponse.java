@@ -0,0 +1,14 @@
+package com.thy.casestudy.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MoveResponse {
+    private final Long targetId;
+    // Rows whose department / course actually changed
+    private final int moved;
+    // Number of UPDATE statements that were run
+    private final int chunks;
+}
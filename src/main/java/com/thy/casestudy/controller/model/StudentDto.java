@@ -0,0 +1,19 @@
+package com.thy.casestudy.controller.model;
+
+import com.thy.casestudy.entities.Course;
+import com.thy.casestudy.entities.Student;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StudentDto {
+    private final Long id;
+    private final String name;
+    private final Long courseId;
+
+    public static StudentDto from(Student student) {
+        Course course = student.getCourse();
+        return new StudentDto(student.getId(), student.getName(), course == null ? null : course.getId());
+    }
+}
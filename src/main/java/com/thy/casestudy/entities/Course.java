@@ -1,5 +1,7 @@
 package com.thy.casestudy.entities;
 
+import com.thy.casestudy.entities.listeners.ChangeEventListener;
+import com.thy.casestudy.entities.listeners.CourseEnrollmentListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -9,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners({CourseEnrollmentListener.class, ChangeEventListener.class})
 @Getter
 @Setter
 public class Course {
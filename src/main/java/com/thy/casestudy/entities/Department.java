@@ -1,6 +1,8 @@
 package com.thy.casestudy.entities;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.thy.casestudy.entities.listeners.ChangeEventListener;
+import com.thy.casestudy.entities.listeners.DepartmentHeadcountListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -10,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners({DepartmentHeadcountListener.class, ChangeEventListener.class})
 @Getter
 @Setter
 public class Department {
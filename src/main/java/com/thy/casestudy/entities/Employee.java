@@ -1,12 +1,16 @@
 package com.thy.casestudy.entities;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.thy.casestudy.entities.listeners.ChangeEventListener;
+import com.thy.casestudy.entities.listeners.DepartmentHeadcountListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@EntityListeners({DepartmentHeadcountListener.class, ChangeEventListener.class})
 @Getter
 @Setter
 public class Employee {
@@ -27,5 +31,10 @@ public class Employee {
     @JsonBackReference  // Breaks the recursion from Employee -> Department
     private Department department;
 
+    @Transient
+    //Department id this employee is currently counted under, see DepartmentHeadcountListener
+    @JsonIgnore
+    private Long countedDepartmentId;
+
 }
 
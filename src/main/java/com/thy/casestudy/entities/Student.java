@@ -1,11 +1,15 @@
 package com.thy.casestudy.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.thy.casestudy.entities.listeners.ChangeEventListener;
+import com.thy.casestudy.entities.listeners.CourseEnrollmentListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@EntityListeners({CourseEnrollmentListener.class, ChangeEventListener.class})
 @Getter
 @Setter
 public class Student {
@@ -21,5 +25,10 @@ public class Student {
     @JoinColumn(name = "course_id")
     private Course course;
 
+    @Transient
+    //Course id this student is currently counted under, see CourseEnrollmentListener
+    @JsonIgnore
+    private Long countedCourseId;
+
 }
 
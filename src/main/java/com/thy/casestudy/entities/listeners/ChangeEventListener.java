@@ -0,0 +1,64 @@
+package com.thy.casestudy.entities.listeners;
+
+import com.thy.casestudy.entities.Course;
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.entities.Student;
+import com.thy.casestudy.util.events.ChangeEvent;
+import com.thy.casestudy.util.events.ChangeFeed;
+import com.thy.casestudy.util.transaction.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes every create/update/delete of the four entities to the change stream once the transaction has committed
+ */
+@Component
+public class ChangeEventListener {
+
+    private final ChangeFeed changeFeed;
+
+    @Autowired
+    public ChangeEventListener(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        publish(entity, ChangeEvent.Type.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        publish(entity, ChangeEvent.Type.UPDATED);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        publish(entity, ChangeEvent.Type.DELETED);
+    }
+
+    private void publish(Object entity, ChangeEvent.Type type) {
+        String name;
+        Long id;
+        if (entity instanceof Department department) {
+            name = "department";
+            id = department.getId();
+        } else if (entity instanceof Employee employee) {
+            name = "employee";
+            id = employee.getId();
+        } else if (entity instanceof Course course) {
+            name = "course";
+            id = course.getId();
+        } else if (entity instanceof Student student) {
+            name = "student";
+            id = student.getId();
+        } else {
+            return;
+        }
+        AfterCommit.run(() -> changeFeed.publish(name, id, type));
+    }
+}
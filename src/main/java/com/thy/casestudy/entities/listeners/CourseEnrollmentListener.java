@@ -0,0 +1,80 @@
+package com.thy.casestudy.entities.listeners;
+
+import com.thy.casestudy.entities.Course;
+import com.thy.casestudy.entities.Student;
+import com.thy.casestudy.util.counters.AggregateCounters;
+import com.thy.casestudy.util.counters.KeyedCounter;
+import com.thy.casestudy.util.transaction.AfterCommit;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Keeps the enrollment per course up to date when courses and students are written through JPA.
+ * Counters are only touched after the transaction commits.
+ */
+@Component
+public class CourseEnrollmentListener {
+
+    private final KeyedCounter enrollments;
+
+    @Autowired
+    public CourseEnrollmentListener(AggregateCounters counters) {
+        this.enrollments = counters.courseEnrollments();
+    }
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof Student student) {
+            // Remember where the student is counted, so that a later update knows which course it left
+            student.setCountedCourseId(courseIdOf(student));
+        }
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof Student student) {
+            Long courseId = courseIdOf(student);
+            student.setCountedCourseId(courseId);
+            AfterCommit.run(() -> enrollments.increment(courseId));
+        } else if (entity instanceof Course course) {
+            Long courseId = course.getId();
+            AfterCommit.run(() -> enrollments.register(courseId));
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof Student student) {
+            Long previousCourseId = student.getCountedCourseId();
+            Long courseId = courseIdOf(student);
+            if (!Objects.equals(previousCourseId, courseId)) {
+                student.setCountedCourseId(courseId);
+                AfterCommit.run(() -> enrollments.move(previousCourseId, courseId));
+            }
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        // Deleting a course cascades to its students, each of them is decremented before the course key is dropped
+        if (entity instanceof Student student) {
+            Long courseId = student.getCountedCourseId();
+            AfterCommit.run(() -> enrollments.decrement(courseId));
+        } else if (entity instanceof Course course) {
+            Long courseId = course.getId();
+            AfterCommit.run(() -> enrollments.remove(courseId));
+        }
+    }
+
+    // Reading the id of a lazy proxy does not initialize it, so this never triggers a query
+    private static Long courseIdOf(Student student) {
+        Course course = student.getCourse();
+        return course == null ? null : course.getId();
+    }
+}
@@ -0,0 +1,79 @@
+package com.thy.casestudy.entities.listeners;
+
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.util.counters.AggregateCounters;
+import com.thy.casestudy.util.counters.KeyedCounter;
+import com.thy.casestudy.util.transaction.AfterCommit;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Keeps the headcount per department up to date when departments and employees are written through JPA.
+ * Counters are only touched after the transaction commits.
+ */
+@Component
+public class DepartmentHeadcountListener {
+
+    private final KeyedCounter headcounts;
+
+    @Autowired
+    public DepartmentHeadcountListener(AggregateCounters counters) {
+        this.headcounts = counters.departmentHeadcounts();
+    }
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof Employee employee) {
+            // Remember where the employee is counted, so that a later update knows which department it left
+            employee.setCountedDepartmentId(departmentIdOf(employee));
+        }
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof Employee employee) {
+            Long departmentId = departmentIdOf(employee);
+            employee.setCountedDepartmentId(departmentId);
+            AfterCommit.run(() -> headcounts.increment(departmentId));
+        } else if (entity instanceof Department department) {
+            Long departmentId = department.getId();
+            AfterCommit.run(() -> headcounts.register(departmentId));
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof Employee employee) {
+            Long previousDepartmentId = employee.getCountedDepartmentId();
+            Long departmentId = departmentIdOf(employee);
+            if (!Objects.equals(previousDepartmentId, departmentId)) {
+                employee.setCountedDepartmentId(departmentId);
+                AfterCommit.run(() -> headcounts.move(previousDepartmentId, departmentId));
+            }
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Employee employee) {
+            Long departmentId = employee.getCountedDepartmentId();
+            AfterCommit.run(() -> headcounts.decrement(departmentId));
+        } else if (entity instanceof Department department) {
+            Long departmentId = department.getId();
+            AfterCommit.run(() -> headcounts.remove(departmentId));
+        }
+    }
+
+    // Reading the id of a lazy proxy does not initialize it, so this never triggers a query
+    private static Long departmentIdOf(Employee employee) {
+        Department department = employee.getDepartment();
+        return department == null ? null : department.getId();
+    }
+}
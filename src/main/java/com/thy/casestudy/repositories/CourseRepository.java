@@ -1,9 +1,17 @@
 package com.thy.casestudy.repositories;
 
 import com.thy.casestudy.entities.Course;
+import com.thy.casestudy.repositories.projections.IdCount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    // Enrollment of every course (including empty ones), computed by the database
+    @Query("select c.id as id, count(s.id) as count from Course c left join c.students s group by c.id")
+    List<IdCount> countStudentsPerCourse();
 }
@@ -1,9 +1,17 @@
 package com.thy.casestudy.repositories;
 
 import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.repositories.projections.IdCount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+    // Headcount of every department (including empty ones), computed by the database
+    @Query("select d.id as id, count(e.id) as count from Department d left join d.employees e group by d.id")
+    List<IdCount> countEmployeesPerDepartment();
 }
@@ -1,9 +1,39 @@
 package com.thy.casestudy.repositories;
 
+import com.thy.casestudy.entities.Department;
 import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.repositories.projections.IdParent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    // Next chunk of employees of a department for a bulk move (keyset pagination on the id), locked until the move commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id as id, e.department.id as parentId from Employee e where e.department.id = :departmentId and e.id > :afterId" +
+            " and (:namePrefix is null or e.name like concat(:namePrefix, '%') escape '\\') order by e.id")
+    List<IdParent> findMovableInDepartment(@Param("departmentId") Long departmentId, @Param("namePrefix") String escapedNamePrefix,
+                                           @Param("afterId") Long afterId, Limit limit);
+
+    // Employees that a bulk move would change (same predicate as the update), with the department they leave, locked until the move commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id as id, e.department.id as parentId from Employee e where e.id in :ids" +
+            " and (e.department is null or e.department <> :department)")
+    List<IdParent> findMovableToDepartment(@Param("ids") Collection<Long> ids, @Param("department") Department department);
+
+    // Bypasses the persistence context (and the entity listeners), hence flushing before and clearing after
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.department = :department where e.id in :ids" +
+            " and (e.department is null or e.department <> :department)")
+    int moveToDepartment(@Param("ids") Collection<Long> ids, @Param("department") Department department);
 }
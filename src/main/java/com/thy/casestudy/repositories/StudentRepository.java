@@ -1,9 +1,39 @@
 package com.thy.casestudy.repositories;
 
+import com.thy.casestudy.entities.Course;
 import com.thy.casestudy.entities.Student;
+import com.thy.casestudy.repositories.projections.IdParent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+
+    // Next chunk of students of a course for a bulk move (keyset pagination on the id), locked until the move commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id as id, s.course.id as parentId from Student s where s.course.id = :courseId and s.id > :afterId" +
+            " and (:namePrefix is null or s.name like concat(:namePrefix, '%') escape '\\') order by s.id")
+    List<IdParent> findMovableInCourse(@Param("courseId") Long courseId, @Param("namePrefix") String escapedNamePrefix,
+                                       @Param("afterId") Long afterId, Limit limit);
+
+    // Students that a bulk move would change (same predicate as the update), with the course they leave, locked until the move commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id as id, s.course.id as parentId from Student s where s.id in :ids" +
+            " and (s.course is null or s.course <> :course)")
+    List<IdParent> findMovableToCourse(@Param("ids") Collection<Long> ids, @Param("course") Course course);
+
+    // Bypasses the persistence context (and the entity listeners), hence flushing before and clearing after
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Student s set s.course = :course where s.id in :ids" +
+            " and (s.course is null or s.course <> :course)")
+    int moveToCourse(@Param("ids") Collection<Long> ids, @Param("course") Course course);
 }
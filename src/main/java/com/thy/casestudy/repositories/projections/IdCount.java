@@ -0,0 +1,10 @@
+package com.thy.casestudy.repositories.projections;
+
+/**
+ * Result row of a "GROUP BY id" count query
+ */
+public interface IdCount {
+    Long getId();
+
+    long getCount();
+}
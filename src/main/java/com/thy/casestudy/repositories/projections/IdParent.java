@@ -0,0 +1,10 @@
+package com.thy.casestudy.repositories.projections;
+
+/**
+ * Result row of a query returning the id of a row and the id of its parent (e.g. the department of an employee)
+ */
+public interface IdParent {
+    Long getId();
+
+    Long getParentId();
+}
@@ -0,0 +1,134 @@
+package com.thy.casestudy.service;
+
+import com.thy.casestudy.controller.model.MoveRequest;
+import com.thy.casestudy.controller.model.MoveResponse;
+import com.thy.casestudy.repositories.projections.IdParent;
+import com.thy.casestudy.util.counters.KeyedCounter;
+import com.thy.casestudy.util.events.ChangeEvent;
+import com.thy.casestudy.util.events.ChangeFeed;
+import com.thy.casestudy.util.exceptions.BadRequestException;
+import com.thy.casestudy.util.transaction.AfterCommit;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bulk move of child rows to another parent (employees to a department, students to a course), shared by
+ * {@link DepartmentService} and {@link CourseService}. Each chunk of at most "bulk.move.chunk-size" rows takes two statements:
+ * a select that locks the rows that will change, together with the parent each one leaves, and the UPDATE of those rows.
+ * All chunks run in the caller's transaction. The UPDATE bypasses the entity listeners, so the counters and
+ * the change stream are updated here once the transaction has committed.
+ *
+ * @param <P> type of the parent entity
+ */
+class ChunkedMove<P> {
+
+    @FunctionalInterface
+    interface MovableByIds<P> {
+        List<IdParent> find(List<Long> ids, P target);
+    }
+
+    @FunctionalInterface
+    interface MovableByParent {
+        List<IdParent> find(Long parentId, String escapedNamePrefix, Long afterId, Limit limit);
+    }
+
+    @FunctionalInterface
+    interface Update<P> {
+        int move(List<Long> ids, P target);
+    }
+
+    private final String entityName;
+    private final int chunkSize;
+    private final MovableByIds<P> movableByIds;
+    private final MovableByParent movableByParent;
+    private final Update<P> update;
+    private final KeyedCounter counter;
+    private final ChangeFeed changeFeed;
+
+    ChunkedMove(String entityName, int chunkSize, MovableByIds<P> movableByIds, MovableByParent movableByParent, Update<P> update,
+                KeyedCounter counter, ChangeFeed changeFeed) {
+        // A chunk size below 1 would never advance through the ids, inside an open write transaction
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("bulk.move.chunk-size must be positive: " + chunkSize);
+        }
+        this.entityName = entityName;
+        this.chunkSize = chunkSize;
+        this.movableByIds = movableByIds;
+        this.movableByParent = movableByParent;
+        this.update = update;
+        this.counter = counter;
+        this.changeFeed = changeFeed;
+    }
+
+    MoveResponse run(Long targetId, Supplier<P> targetLookup, MoveRequest request) {
+        boolean byIds = request.getIds() != null;
+        if (byIds == (request.getFromId() != null)) {
+            throw new BadRequestException("Either 'ids' or 'fromId' must be given");
+        }
+        P target = targetLookup.get();
+
+        Progress progress = new Progress();
+        if (byIds) {
+            List<Long> ids = request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                // Only the rows that will change, so that unknown ids or rows already in the target publish no event
+                move(movableByIds.find(chunk, target), targetId, target, progress);
+            }
+        } else if (!request.getFromId().equals(targetId)) { // Moving rows to where they already are changes nothing
+            String namePrefix = escapeLike(request.getNamePrefix());
+            // Keyset pagination, so that each chunk is found through the index on the id instead of an OFFSET scan
+            long afterId = 0;
+            List<IdParent> chunk;
+            do {
+                chunk = movableByParent.find(request.getFromId(), namePrefix, afterId, Limit.of(chunkSize));
+                move(chunk, targetId, target, progress);
+                afterId = chunk.isEmpty() ? afterId : chunk.get(chunk.size() - 1).getId();
+            } while (chunk.size() == chunkSize);
+        }
+
+        AfterCommit.run(() -> {
+            progress.deltas.forEach(counter::add);
+            progress.movedIds.forEach(id -> changeFeed.publish(entityName, id, ChangeEvent.Type.UPDATED));
+        });
+        return new MoveResponse(targetId, progress.moved, progress.chunks);
+    }
+
+    // The rows are locked by the select, so each one leaves exactly the parent it was read with
+    private void move(List<IdParent> rows, Long targetId, P target, Progress progress) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (IdParent row : rows) {
+            ids.add(row.getId());
+            progress.deltas.merge(row.getParentId(), -1L, Long::sum);
+        }
+        int updated = update.move(ids, target);
+        progress.deltas.merge(targetId, (long) updated, Long::sum);
+        progress.movedIds.addAll(ids);
+        progress.moved += updated;
+        progress.chunks++;
+    }
+
+    // The prefix is matched with "like concat(:prefix, '%') escape '\'", so "%" and "_" must match themselves
+    static String escapeLike(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static final class Progress {
+        private final Map<Long, Long> deltas = new HashMap<>();
+        private final List<Long> movedIds = new ArrayList<>();
+        private int moved;
+        private int chunks;
+    }
+}
@@ -0,0 +1,97 @@
+package com.thy.casestudy.service;
+
+import com.thy.casestudy.controller.model.CourseDto;
+import com.thy.casestudy.controller.model.MoveRequest;
+import com.thy.casestudy.controller.model.MoveResponse;
+import com.thy.casestudy.entities.Course;
+import com.thy.casestudy.repositories.CourseRepository;
+import com.thy.casestudy.repositories.StudentRepository;
+import com.thy.casestudy.util.counters.AggregateCounters;
+import com.thy.casestudy.util.events.ChangeFeed;
+import com.thy.casestudy.util.exceptions.ResourceNotFoundException;
+import com.thy.casestudy.util.fields.SparseFieldQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Reads run in read-only transactions (read-only Hibernate session, no flush, no dirty checking)
+ * and return DTOs that are fully built before the transaction, and its JDBC connection, is released.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CourseService {
+
+    // Fields that can be requested with "?fields=", see SparseFieldQuery
+    private static final Map<String, String> SELECTABLE_FIELDS = SparseFieldQuery.selectable("id", "id", "name", "name");
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final SparseFieldQuery sparseFieldQuery;
+    private final ChunkedMove<Course> studentMove;
+
+    @Autowired
+    public CourseService(CourseRepository courseRepository, StudentRepository studentRepository, SparseFieldQuery sparseFieldQuery,
+                         AggregateCounters counters, ChangeFeed changeFeed, @Value("${bulk.move.chunk-size:500}") int moveChunkSize) {
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.sparseFieldQuery = sparseFieldQuery;
+        this.studentMove = new ChunkedMove<>("student", moveChunkSize, studentRepository::findMovableToCourse, studentRepository::findMovableInCourse,
+                studentRepository::moveToCourse, counters.courseEnrollments(), changeFeed);
+    }
+
+    public Page<CourseDto> findAll(Pageable pageable) {
+        return courseRepository.findAll(pageable).map(CourseDto::from);
+    }
+
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        return sparseFieldQuery.findAll(Course.class, SELECTABLE_FIELDS, fields, pageable);
+    }
+
+    public CourseDto findById(Long id) {
+        return CourseDto.from(courseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found")));
+    }
+
+    public Map<String, Object> findById(Long id, String fields) {
+        return sparseFieldQuery.findById(Course.class, SELECTABLE_FIELDS, fields, id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+    }
+
+    @Transactional
+    public CourseDto create(Course course) {
+        return CourseDto.from(courseRepository.save(course));
+    }
+
+    @Transactional
+    public CourseDto update(Long id, Course courseDetails) {
+        Course course = courseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found for this id :: " + id));
+
+        course.setName(courseDetails.getName());
+
+        return CourseDto.from(courseRepository.save(course));
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Course course = courseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found for this id :: " + id));
+
+        courseRepository.delete(course);
+    }
+
+    /**
+     * Moves the selected students to the course "id", see {@link DepartmentService#moveEmployees(Long, MoveRequest)}
+     */
+    @Transactional
+    public MoveResponse moveStudents(Long id, MoveRequest request) {
+        return studentMove.run(id, () -> courseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found for this id :: " + id)), request);
+    }
+}
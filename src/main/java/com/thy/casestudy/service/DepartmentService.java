@@ -0,0 +1,107 @@
+package com.thy.casestudy.service;
+
+import com.thy.casestudy.controller.model.DepartmentDto;
+import com.thy.casestudy.controller.model.MoveRequest;
+import com.thy.casestudy.controller.model.MoveResponse;
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.repositories.DepartmentRepository;
+import com.thy.casestudy.repositories.EmployeeRepository;
+import com.thy.casestudy.util.counters.AggregateCounters;
+import com.thy.casestudy.util.events.ChangeFeed;
+import com.thy.casestudy.util.exceptions.ResourceNotFoundException;
+import com.thy.casestudy.util.fields.SparseFieldQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads run in read-only transactions (read-only Hibernate session, no flush, no dirty checking)
+ * and return DTOs that are fully built before the transaction, and its JDBC connection, is released.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DepartmentService {
+
+    // Fields that can be requested with "?fields=", see SparseFieldQuery
+    private static final Map<String, String> SELECTABLE_FIELDS = SparseFieldQuery.selectable("id", "id", "name", "name");
+
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final SparseFieldQuery sparseFieldQuery;
+    private final ChunkedMove<Department> employeeMove;
+
+    @Autowired
+    public DepartmentService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository, SparseFieldQuery sparseFieldQuery,
+                             AggregateCounters counters, ChangeFeed changeFeed, @Value("${bulk.move.chunk-size:500}") int moveChunkSize) {
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.sparseFieldQuery = sparseFieldQuery;
+        this.employeeMove = new ChunkedMove<>("employee", moveChunkSize, employeeRepository::findMovableToDepartment, employeeRepository::findMovableInDepartment,
+                employeeRepository::moveToDepartment, counters.departmentHeadcounts(), changeFeed);
+    }
+
+    public Page<DepartmentDto> findAll(Pageable pageable) {
+        return departmentRepository.findAll(pageable).map(DepartmentDto::from);
+    }
+
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        return sparseFieldQuery.findAll(Department.class, SELECTABLE_FIELDS, fields, pageable);
+    }
+
+    public DepartmentDto findById(Long id) {
+        return DepartmentDto.from(departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found")));
+    }
+
+    public Map<String, Object> findById(Long id, String fields) {
+        return sparseFieldQuery.findById(Department.class, SELECTABLE_FIELDS, fields, id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found"));
+    }
+
+    @Transactional
+    public DepartmentDto create(Department department) {
+        return DepartmentDto.from(departmentRepository.save(department));
+    }
+
+    @Transactional
+    public DepartmentDto update(Long id, Department departmentDetails) {
+        Department department = departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found for this id :: " + id));
+
+        department.setName(departmentDetails.getName());
+
+        return DepartmentDto.from(departmentRepository.save(department));
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Department department = departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found for this id :: " + id));
+
+        // Fetch employees of the department and set their department to null
+        List<Employee> employees = department.getEmployees();
+        for (Employee employee : employees) {
+            employee.setDepartment(null);
+            employeeRepository.save(employee);  // Save the updated employee
+        }
+
+        departmentRepository.delete(department);
+    }
+
+    /**
+     * Moves the selected employees to the department "id" with one UPDATE statement per chunk of "bulk.move.chunk-size" rows,
+     * all in the same transaction, see {@link ChunkedMove}
+     */
+    @Transactional
+    public MoveResponse moveEmployees(Long id, MoveRequest request) {
+        return employeeMove.run(id, () -> departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found for this id :: " + id)), request);
+    }
+}
@@ -0,0 +1,81 @@
+package com.thy.casestudy.service;
+
+import com.thy.casestudy.controller.model.EmployeeDto;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.repositories.EmployeeRepository;
+import com.thy.casestudy.util.exceptions.ResourceNotFoundException;
+import com.thy.casestudy.util.fields.SparseFieldQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Reads run in read-only transactions (read-only Hibernate session, no flush, no dirty checking)
+ * and return DTOs that are fully built before the transaction, and its JDBC connection, is released.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EmployeeService {
+
+    // Fields that can be requested with "?fields=", see SparseFieldQuery
+    private static final Map<String, String> SELECTABLE_FIELDS = SparseFieldQuery.selectable("id", "id", "name", "name", "departmentId", "department.id");
+
+    private final EmployeeRepository employeeRepository;
+    private final SparseFieldQuery sparseFieldQuery;
+
+    @Autowired
+    public EmployeeService(EmployeeRepository employeeRepository, SparseFieldQuery sparseFieldQuery) {
+        this.employeeRepository = employeeRepository;
+        this.sparseFieldQuery = sparseFieldQuery;
+    }
+
+    public Page<EmployeeDto> findAll(Pageable pageable) {
+        return employeeRepository.findAll(pageable).map(EmployeeDto::from);
+    }
+
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        return sparseFieldQuery.findAll(Employee.class, SELECTABLE_FIELDS, fields, pageable);
+    }
+
+    public EmployeeDto findById(Long id) {
+        return EmployeeDto.from(employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found")));
+    }
+
+    public Map<String, Object> findById(Long id, String fields) {
+        return sparseFieldQuery.findById(Employee.class, SELECTABLE_FIELDS, fields, id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+    }
+
+    @Transactional
+    public EmployeeDto create(Employee employee) {
+        return EmployeeDto.from(employeeRepository.save(employee));
+    }
+
+    @Transactional
+    public EmployeeDto update(Long id, Employee employeeDetails) {
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found for this id :: " + id));
+
+        if (employeeDetails.getName() != null) {
+            employee.setName(employeeDetails.getName());
+        }
+        if (employeeDetails.getDepartment() != null) {
+            employee.setDepartment(employeeDetails.getDepartment());
+        }
+
+        return EmployeeDto.from(employeeRepository.save(employee));
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found for this id :: " + id));
+
+        employeeRepository.delete(employee);
+    }
+}
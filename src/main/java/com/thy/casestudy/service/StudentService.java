@@ -0,0 +1,81 @@
+package com.thy.casestudy.service;
+
+import com.thy.casestudy.controller.model.StudentDto;
+import com.thy.casestudy.entities.Student;
+import com.thy.casestudy.repositories.StudentRepository;
+import com.thy.casestudy.util.exceptions.ResourceNotFoundException;
+import com.thy.casestudy.util.fields.SparseFieldQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Reads run in read-only transactions (read-only Hibernate session, no flush, no dirty checking)
+ * and return DTOs that are fully built before the transaction, and its JDBC connection, is released.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StudentService {
+
+    // Fields that can be requested with "?fields=", see SparseFieldQuery
+    private static final Map<String, String> SELECTABLE_FIELDS = SparseFieldQuery.selectable("id", "id", "name", "name", "courseId", "course.id");
+
+    private final StudentRepository studentRepository;
+    private final SparseFieldQuery sparseFieldQuery;
+
+    @Autowired
+    public StudentService(StudentRepository studentRepository, SparseFieldQuery sparseFieldQuery) {
+        this.studentRepository = studentRepository;
+        this.sparseFieldQuery = sparseFieldQuery;
+    }
+
+    public Page<StudentDto> findAll(Pageable pageable) {
+        return studentRepository.findAll(pageable).map(StudentDto::from);
+    }
+
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        return sparseFieldQuery.findAll(Student.class, SELECTABLE_FIELDS, fields, pageable);
+    }
+
+    public StudentDto findById(Long id) {
+        return StudentDto.from(studentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found")));
+    }
+
+    public Map<String, Object> findById(Long id, String fields) {
+        return sparseFieldQuery.findById(Student.class, SELECTABLE_FIELDS, fields, id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+    }
+
+    @Transactional
+    public StudentDto create(Student student) {
+        return StudentDto.from(studentRepository.save(student));
+    }
+
+    @Transactional
+    public StudentDto update(Long id, Student studentDetails) {
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found for this id :: " + id));
+
+        if (studentDetails.getName() != null) {
+            student.setName(studentDetails.getName());
+        }
+        if (studentDetails.getCourse() != null) {
+            student.setCourse(studentDetails.getCourse());
+        }
+
+        return StudentDto.from(studentRepository.save(student));
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found for this id :: " + id));
+
+        studentRepository.delete(student);
+    }
+}
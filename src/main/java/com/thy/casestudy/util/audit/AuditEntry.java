@@ -0,0 +1,26 @@
+package com.thy.casestudy.util.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * One audited write request: who ("subject" of the JWT token) called which endpoint, with which outcome
+ */
+@Getter
+@AllArgsConstructor
+public class AuditEntry {
+    private final long sequence;
+    private final Instant timestamp;
+    private final String subject;
+    private final String method;
+    private final String path;
+    private final int status;
+    private final long durationMicros;
+
+    // Tab separated line written to the audit files
+    String toLogLine() {
+        return sequence + "\t" + timestamp + "\t" + subject + "\t" + method + "\t" + path + "\t" + status + "\t" + durationMicros + "\n";
+    }
+}
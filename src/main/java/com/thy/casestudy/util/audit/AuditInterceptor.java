@@ -0,0 +1,55 @@
+package com.thy.casestudy.util.audit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Records every POST / PUT / DELETE on the API in the audit log, keyed by the JWT subject that JwtRequestFilter authenticated
+ */
+@Component
+public class AuditInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = AuditInterceptor.class.getName() + ".start";
+
+    private final AuditLog auditLog;
+
+    @Autowired
+    public AuditInterceptor(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isAudited(request)) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String subject = authentication == null ? "anonymous" : authentication.getName();
+        int status = response.getStatus();
+        if (ex != null && status < HttpServletResponse.SC_BAD_REQUEST) {
+            // No exception resolver handled it, the status is still the default 200 but the container answers with a 500
+            status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        }
+        auditLog.record(subject, request.getMethod(), request.getRequestURI(), status, System.nanoTime() - (Long) start);
+    }
+
+    private static boolean isAudited(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "POST".equals(method) || "PUT".equals(method) || "DELETE".equals(method);
+    }
+}
@@ -0,0 +1,159 @@
+package com.thy.casestudy.util.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of the write requests. Request threads only copy a few values into the {@link AuditRingBuffer};
+ * a background thread drains it in batches into rotated, memory mapped files ({@link MappedAuditFileWriter})
+ * and keeps the most recent entries in memory for "/api/audit".
+ */
+@Component
+@Lazy(false) // The consumer thread must run from startup, not from the first write
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final int BATCH_SIZE = 256;
+    // While idle the consumer parks for 1 ms, doubling up to the force interval, and is unparked by the next "record"
+    private static final long MIN_IDLE_PARK_NANOS = 1_000_000;
+
+    private final AuditRingBuffer ringBuffer;
+    private final MappedAuditFileWriter writer;
+    private final int recentEntriesLimit;
+    private final long forceIntervalMillis;
+
+    // Newest first, only written by the consumer thread
+    private final ArrayDeque<AuditEntry> recentEntries = new ArrayDeque<>();
+    private final long maxIdleParkNanos;
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    @Autowired
+    public AuditLog(@Value("${audit.buffer-size:8192}") int bufferSize,
+                    @Value("${audit.overflow-policy:DROP}") AuditRingBuffer.OverflowPolicy overflowPolicy,
+                    @Value("${audit.directory:audit}") String directory,
+                    @Value("${audit.segment-size-bytes:16777216}") int segmentSize,
+                    @Value("${audit.max-segments:10}") int maxSegments,
+                    @Value("${audit.recent-entries:1000}") int recentEntriesLimit,
+                    @Value("${audit.force-interval-ms:1000}") long forceIntervalMillis) throws IOException {
+        this.ringBuffer = new AuditRingBuffer(bufferSize, overflowPolicy);
+        this.writer = new MappedAuditFileWriter(Path.of(directory), segmentSize, maxSegments);
+        this.recentEntriesLimit = recentEntriesLimit;
+        this.forceIntervalMillis = forceIntervalMillis;
+        this.maxIdleParkNanos = Math.max(MIN_IDLE_PARK_NANOS, TimeUnit.MILLISECONDS.toNanos(forceIntervalMillis));
+        this.consumer = new Thread(this::consume, "audit-writer");
+        this.consumer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        consumer.start();
+    }
+
+    /**
+     * Called on the request thread; never blocks unless the overflow policy is BLOCK and the buffer is full
+     */
+    public void record(String subject, String method, String path, int status, long durationNanos) {
+        ringBuffer.publish(System.currentTimeMillis(), subject, method, path, status, durationNanos);
+        if (idle) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    public List<AuditEntry> recent(int limit) {
+        synchronized (recentEntries) {
+            List<AuditEntry> entries = new ArrayList<>(Math.min(limit, recentEntries.size()));
+            Iterator<AuditEntry> iterator = recentEntries.iterator();
+            while (iterator.hasNext() && entries.size() < limit) {
+                entries.add(iterator.next());
+            }
+            return entries;
+        }
+    }
+
+    public AuditRingBuffer ringBuffer() {
+        return ringBuffer;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(5000);
+        if (consumer.isAlive()) {
+            // Unmapping the segment under a thread that is still appending to it would fail in that thread
+            log.warn("Audit writer did not stop within 5 seconds, leaving {} open", writer.currentSegment());
+            return;
+        }
+        writer.close();
+    }
+
+    private void consume() {
+        List<AuditEntry> batch = new ArrayList<>(BATCH_SIZE);
+        long lastForce = System.currentTimeMillis();
+        long idleParkNanos = MIN_IDLE_PARK_NANOS;
+        while (true) {
+            try {
+                batch.clear();
+                int drained = ringBuffer.drain(BATCH_SIZE, batch::add);
+                if (drained > 0) {
+                    write(batch);
+                    idleParkNanos = MIN_IDLE_PARK_NANOS;
+                } else if (!running) {
+                    break;
+                } else {
+                    // An entry published just before "idle" is set is not missed, only picked up after this park
+                    idle = true;
+                    LockSupport.parkNanos(idleParkNanos);
+                    idle = false;
+                    idleParkNanos = Math.min(idleParkNanos * 2, maxIdleParkNanos);
+                }
+
+                long now = System.currentTimeMillis();
+                if (now - lastForce >= forceIntervalMillis) {
+                    lastForce = now;
+                    writer.force();
+                }
+            } catch (RuntimeException e) {
+                // If this thread died, DROP would silently discard every later entry and BLOCK would hang every write request
+                log.error("Audit writer failed, continuing with the next batch", e);
+                LockSupport.parkNanos(MIN_IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void write(List<AuditEntry> batch) {
+        for (AuditEntry entry : batch) {
+            try {
+                writer.append(entry);
+            } catch (IOException | RuntimeException e) {
+                log.error("Could not write audit entry {} to {}", entry.getSequence(), writer.currentSegment(), e);
+            }
+        }
+        synchronized (recentEntries) {
+            for (AuditEntry entry : batch) {
+                recentEntries.addFirst(entry);
+            }
+            while (recentEntries.size() > recentEntriesLimit) {
+                recentEntries.removeLast();
+            }
+        }
+    }
+}
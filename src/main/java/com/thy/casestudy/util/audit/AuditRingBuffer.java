@@ -0,0 +1,124 @@
+package com.thy.casestudy.util.audit;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Preallocated, lock-free ring buffer between the request threads (many producers) and the audit writer (one consumer).
+ * Publishing claims a sequence with a CAS and copies the values into an existing slot, so nothing is allocated
+ * and no lock is taken on the request thread. When the consumer falls behind by a full buffer, the overflow policy decides
+ * whether the event is dropped (and counted) or the request thread waits for a free slot.
+ * Sequences start at 1.
+ */
+public class AuditRingBuffer {
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    static final class Slot {
+        // Written last by the producer, read first by the consumer: publishes the other fields
+        private volatile long sequence;
+        long timestampMillis;
+        String subject;
+        String method;
+        String path;
+        int status;
+        long durationNanos;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    public AuditRingBuffer(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return false if the event was dropped because the buffer was full
+     */
+    public boolean publish(long timestampMillis, String subject, String method, String path, int status, long durationNanos) {
+        long sequence;
+        do {
+            sequence = claimed.get() + 1;
+            if (sequence - consumed.get() > slots.length) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    dropped.increment();
+                    return false;
+                }
+                // BLOCK: wait for the consumer to free a slot
+                LockSupport.parkNanos(10_000);
+                sequence = -1;
+            }
+        } while (sequence < 0 || !claimed.compareAndSet(sequence - 1, sequence));
+
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.timestampMillis = timestampMillis;
+        slot.subject = subject;
+        slot.method = method;
+        slot.path = path;
+        slot.status = status;
+        slot.durationNanos = durationNanos;
+        slot.sequence = sequence;
+        return true;
+    }
+
+    /**
+     * Passes up to "max" published events, in order, to the handler. Must only be called from the consumer thread.
+     *
+     * @return the number of events consumed
+     */
+    public int drain(int max, Consumer<AuditEntry> handler) {
+        long next = consumed.get() + 1;
+        int count = 0;
+        while (count < max) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.sequence != next) {
+                break;
+            }
+            handler.accept(new AuditEntry(next, Instant.ofEpochMilli(slot.timestampMillis), slot.subject, slot.method,
+                    slot.path, slot.status, slot.durationNanos / 1000));
+            slot.subject = null;
+            slot.path = null;
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            // Gives the slots back to the producers
+            consumed.set(next - 1);
+        }
+        return count;
+    }
+
+    public long publishedCount() {
+        return claimed.get();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+}
@@ -0,0 +1,95 @@
+package com.thy.casestudy.util.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit files written through a memory mapped buffer: appending is a memory copy, the OS writes the pages back.
+ * When a segment is full it is flushed, truncated to its used size and a new one is started; the oldest segments
+ * beyond "maxSegments" are deleted. Only used by the audit consumer thread.
+ */
+class MappedAuditFileWriter implements AutoCloseable {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Path currentSegment;
+    private int segmentCount;
+
+    MappedAuditFileWriter(Path directory, int segmentSize, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        openSegment();
+    }
+
+    void append(AuditEntry entry) throws IOException {
+        byte[] line = entry.toLogLine().getBytes(StandardCharsets.UTF_8);
+        if (line.length > buffer.remaining()) {
+            closeSegment();
+            openSegment();
+            if (line.length > buffer.remaining()) {
+                // A single entry bigger than a segment (e.g. a huge URL), keep only what fits
+                line = Arrays.copyOf(line, buffer.remaining());
+            }
+        }
+        buffer.put(line);
+    }
+
+    // Asks the OS to write the dirty pages to disk
+    void force() {
+        buffer.force();
+    }
+
+    Path currentSegment() {
+        return currentSegment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    private void openSegment() throws IOException {
+        currentSegment = directory.resolve(String.format("audit-%s-%06d.log", LocalDateTime.now().format(FILE_TIMESTAMP), ++segmentCount));
+        channel = FileChannel.open(currentSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        deleteOldSegments();
+    }
+
+    private void closeSegment() throws IOException {
+        int used = buffer.position();
+        buffer.force();
+        // Removes the unused, zero filled, end of the mapping so the file only contains complete lines
+        channel.truncate(used);
+        channel.close();
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(path -> path.getFileName().toString().startsWith("audit-"))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.thy.casestudy.util.counters;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Incrementally maintained aggregates, so that reports do not have to load "Department.employees" / "Course.students".
+ * They are kept up to date by the entity listeners in {@link com.thy.casestudy.entities.listeners}
+ * and periodically checked against the database by {@link CounterReconciliationJob}.
+ */
+@Component
+public class AggregateCounters {
+
+    private final KeyedCounter departmentHeadcounts = new KeyedCounter();
+    private final KeyedCounter courseEnrollments = new KeyedCounter();
+
+    public KeyedCounter departmentHeadcounts() {
+        return departmentHeadcounts;
+    }
+
+    public KeyedCounter courseEnrollments() {
+        return courseEnrollments;
+    }
+}
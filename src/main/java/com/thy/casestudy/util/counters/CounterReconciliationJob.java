@@ -0,0 +1,79 @@
+package com.thy.casestudy.util.counters;
+
+import com.thy.casestudy.repositories.CourseRepository;
+import com.thy.casestudy.repositories.DepartmentRepository;
+import com.thy.casestudy.repositories.projections.IdCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Periodically compares the in-memory counters with "GROUP BY" queries and corrects any drift
+ * (writes that bypassed JPA, a crash between commit and counter update...).
+ * The first run happens at startup and loads the counters from the existing data.
+ */
+@Component
+@Lazy(false) // Its "@Scheduled" method would never be registered if the bean was created lazily ("fast-startup" profile)
+public class CounterReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciliationJob.class);
+
+    private final AggregateCounters counters;
+    private final DepartmentRepository departmentRepository;
+    private final CourseRepository courseRepository;
+
+    @Autowired
+    public CounterReconciliationJob(AggregateCounters counters, DepartmentRepository departmentRepository, CourseRepository courseRepository) {
+        this.counters = counters;
+        this.departmentRepository = departmentRepository;
+        this.courseRepository = courseRepository;
+    }
+
+    // Synchronized: interleaved resets of two runs (e.g. the scheduled one and DataSeeder's) would add both results up
+    @Scheduled(fixedDelayString = "${reports.counters.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        reconcile("department headcount", counters.departmentHeadcounts(), departmentRepository::countEmployeesPerDepartment);
+        reconcile("course enrollment", counters.courseEnrollments(), courseRepository::countStudentsPerCourse);
+    }
+
+    // Writes committed while the query runs may be counted twice or not at all; the next run fixes that.
+    // Keys are taken before the query, so that a department / course created meanwhile does not lose its key until the next run.
+    private void reconcile(String name, KeyedCounter counter, Supplier<List<IdCount>> query) {
+        Set<Long> keysBefore = new HashSet<>(counter.snapshot().keySet());
+        List<IdCount> actualCounts = query.get();
+        Map<Long, Long> actual = new HashMap<>(actualCounts.size() * 2);
+        for (IdCount row : actualCounts) {
+            actual.put(row.getId(), row.getCount());
+        }
+
+        Map<Long, Long> current = counter.snapshot();
+        if (current.equals(actual)) {
+            return;
+        }
+
+        int drifted = 0;
+        for (Map.Entry<Long, Long> entry : actual.entrySet()) {
+            if (!entry.getValue().equals(current.get(entry.getKey()))) {
+                drifted++;
+            }
+        }
+        for (Long key : current.keySet()) {
+            if (!actual.containsKey(key)) {
+                drifted++;
+            }
+        }
+
+        log.info("Reconciled {} counters, {} of {} keys corrected", name, drifted, actual.size());
+        counter.resetTo(actual, keysBefore);
+    }
+}
@@ -0,0 +1,80 @@
+package com.thy.casestudy.util.counters;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A set of counters keyed by an entity id (e.g. headcount per department id).
+ * Each key has its own striped {@link LongAdder}, so concurrent writers to the same key do not contend on a single CAS,
+ * and reading one key is a single map lookup regardless of how many rows are behind it.
+ */
+public class KeyedCounter {
+
+    private final ConcurrentHashMap<Long, LongAdder> counters = new ConcurrentHashMap<>();
+
+    // Makes the key visible with a zero count (e.g. a department without employees yet)
+    public void register(Long key) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+    }
+
+    public void remove(Long key) {
+        if (key != null) {
+            counters.remove(key);
+        }
+    }
+
+    public void add(Long key, long delta) {
+        // Rows without a parent (e.g. an employee without department) are not counted anywhere
+        if (key != null && delta != 0) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    public void increment(Long key) {
+        add(key, 1);
+    }
+
+    public void decrement(Long key) {
+        add(key, -1);
+    }
+
+    // Moves one unit from one key to another, e.g. an employee changing department
+    public void move(Long from, Long to) {
+        decrement(from);
+        increment(to);
+    }
+
+    public long get(Long key) {
+        LongAdder adder = counters.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public boolean contains(Long key) {
+        return counters.containsKey(key);
+    }
+
+    public Map<Long, Long> snapshot() {
+        Map<Long, Long> snapshot = new HashMap<>(counters.size() * 2);
+        counters.forEach((key, adder) -> snapshot.put(key, adder.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Overwrites the counters with the given values (used by the reconciliation job).
+     * A key that is not in "values" is only dropped if it is in "keysBefore", the keys that existed before "values" were queried;
+     * a key registered in the meantime (e.g. a department committed after the query ran) is kept.
+     */
+    public void resetTo(Map<Long, Long> values, Set<Long> keysBefore) {
+        counters.keySet().removeIf(key -> keysBefore.contains(key) && !values.containsKey(key));
+        values.forEach((key, value) -> {
+            LongAdder adder = counters.computeIfAbsent(key, k -> new LongAdder());
+            adder.reset();
+            adder.add(value);
+        });
+    }
+}
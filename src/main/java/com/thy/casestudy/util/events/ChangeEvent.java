@@ -0,0 +1,24 @@
+package com.thy.casestudy.util.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Compact description of a committed create/update/delete, pushed to the clients of the change stream.
+ * "sequence" is used as the SSE event id, so clients can resume after it with "Last-Event-ID".
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @JsonIgnore
+    private final long sequence;
+    private final String entity;
+    private final Long id;
+    private final Type type;
+}
@@ -0,0 +1,69 @@
+package com.thy.casestudy.util.events;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed size ring buffer shared by all subscribers of the change stream.
+ * Publishing claims the next sequence number and overwrites the oldest slot; nothing is ever copied per subscriber,
+ * each subscriber only keeps the sequence of the next event it wants to read.
+ * Sequences start at 1, so "0" can be used as "nothing seen yet".
+ */
+public class ChangeEventBuffer {
+
+    private final AtomicReferenceArray<ChangeEvent> slots;
+    private final int mask;
+    private final AtomicLong lastSequence = new AtomicLong();
+
+    public ChangeEventBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public ChangeEvent publish(String entity, Long id, ChangeEvent.Type type) {
+        long sequence = lastSequence.incrementAndGet();
+        ChangeEvent event = new ChangeEvent(sequence, entity, id, type);
+        slots.set(index(sequence), event);
+        return event;
+    }
+
+    public long lastSequence() {
+        return lastSequence.get();
+    }
+
+    // Oldest sequence that is still guaranteed to be in the buffer
+    public long oldestAvailableSequence() {
+        return Math.max(1, lastSequence.get() - slots.length() + 1);
+    }
+
+    /**
+     * Copies up to "max" consecutive events starting at "fromSequence" into "out".
+     *
+     * @return the number of events read, or -1 if "fromSequence" has already been overwritten
+     */
+    public int read(long fromSequence, int max, List<ChangeEvent> out) {
+        int read = 0;
+        for (long sequence = fromSequence; read < max; sequence++) {
+            ChangeEvent event = slots.get(index(sequence));
+            if (event == null || event.getSequence() < sequence) {
+                // Not published yet (or a publisher claimed the sequence but has not written the slot yet)
+                break;
+            }
+            if (event.getSequence() > sequence) {
+                // The reader was lapped by the publishers
+                return read == 0 ? -1 : read;
+            }
+            out.add(event);
+            read++;
+        }
+        return read;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
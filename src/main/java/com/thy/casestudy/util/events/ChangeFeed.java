@@ -0,0 +1,271 @@
+package com.thy.casestudy.util.events;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed changes out to the Server-Sent Events subscribers of "/api/stream/changes".
+ * All subscribers read from a single {@link ChangeEventBuffer}; each one is drained at its own pace on a small shared pool.
+ * A client that falls further behind than the buffer size receives a "reset" event (it should reload the lists it displays)
+ * and continues from the oldest event still available.
+ * <p>
+ * Sends are blocking servlet writes, so a client that stops reading holds a dispatcher thread until its socket buffers drain.
+ * A subscriber whose send takes longer than "stream.changes.send-timeout-ms" is dropped, and the pool gets a replacement thread
+ * for as long as the stuck write lasts (until the container's write timeout at the latest), so the other subscribers are only
+ * delayed by up to that timeout. A dropped client reconnects with "Last-Event-ID" and resumes where it stopped.
+ */
+@Component
+@Lazy(false) // Its "@Scheduled" method would never be registered if the bean was created lazily ("fast-startup" profile)
+public class ChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    // Max events sent to one subscriber before giving the dispatcher thread back to the others
+    private static final int BATCH_SIZE = 64;
+
+    private final ChangeEventBuffer buffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor dispatcher;
+    private final int dispatcherThreads;
+    private final long sendTimeoutNanos;
+    // Dispatcher threads blocked in the write of a dropped subscriber, each one is compensated by an extra pool thread
+    private int stuckThreads;
+
+    @Autowired
+    public ChangeFeed(@Value("${stream.changes.buffer-size:4096}") int bufferSize,
+                      @Value("${stream.changes.dispatcher-threads:4}") int dispatcherThreads,
+                      @Value("${stream.changes.send-timeout-ms:5000}") long sendTimeoutMillis) {
+        this.buffer = new ChangeEventBuffer(bufferSize);
+        this.dispatcherThreads = dispatcherThreads;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Threads above the core size (compensation threads no longer needed) exit after being idle for the keep-alive time
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void publish(String entity, Long id, ChangeEvent.Type type) {
+        buffer.publish(entity, id, type);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.schedule();
+        }
+    }
+
+    /**
+     * @param lastEventId id of the last event the client received (from "Last-Event-ID"), or null to only get new events
+     */
+    public SseEmitter subscribe(Long lastEventId, long timeoutMillis) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, firstSequenceFor(lastEventId));
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            // Ends the stream normally instead of answering the async dispatch with a 503 AsyncRequestTimeoutException
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Replays what the client missed while it was disconnected
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${stream.changes.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatPending = true;
+            subscriber.schedule();
+        }
+    }
+
+    /**
+     * Drops the subscribers whose current send has been blocked for longer than the send timeout.
+     * Their emitters cannot be completed from here (SseEmitter methods synchronize on the blocked send),
+     * that is done by the dispatcher thread once the write returns or fails.
+     */
+    @Scheduled(fixedDelayString = "${stream.changes.send-timeout-ms:5000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.markStalledIfSendingSince(now - sendTimeoutNanos)) {
+                subscribers.remove(subscriber);
+                log.info("Dropping change stream subscriber that stopped reading");
+                resizeDispatcher(1);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        dispatcher.shutdownNow();
+    }
+
+    private synchronized void resizeDispatcher(int stuckThreadsDelta) {
+        stuckThreads += stuckThreadsDelta;
+        int size = dispatcherThreads + stuckThreads;
+        // The maximum can never be set below the core size, so the order depends on the direction
+        if (stuckThreadsDelta > 0) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    private long firstSequenceFor(Long lastEventId) {
+        long lastSequence = buffer.lastSequence();
+        if (lastEventId == null || lastEventId > lastSequence) {
+            // Either a new client or an id from before a restart; the latter gets a "reset" on its first read
+            return lastEventId == null ? lastSequence + 1 : 0;
+        }
+        return lastEventId + 1;
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final List<ChangeEvent> batch = new ArrayList<>(BATCH_SIZE);
+        private volatile long nextSequence;
+        private volatile boolean heartbeatPending;
+        // Start of the drain in progress (0 when idle) and whether the watchdog dropped it, guarded by "this"
+        private long sendingSince;
+        private boolean stalled;
+
+        private Subscriber(SseEmitter emitter, long nextSequence) {
+            this.emitter = emitter;
+            this.nextSequence = nextSequence;
+        }
+
+        // At most one drain per subscriber is queued or running at any time
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        synchronized boolean markStalledIfSendingSince(long threshold) {
+            if (sendingSince != 0 && sendingSince - threshold < 0 && !stalled) {
+                stalled = true;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized void startSending() {
+            sendingSince = System.nanoTime() | 1; // Never 0, which means idle
+        }
+
+        // Returns whether the watchdog dropped this subscriber while it was sending
+        private synchronized boolean stopSending() {
+            sendingSince = 0;
+            return stalled;
+        }
+
+        private void drain() {
+            Exception failure = null;
+            startSending();
+            try {
+                sendPending();
+            } catch (IOException | IllegalStateException e) {
+                failure = e;
+            } finally {
+                scheduled.set(false);
+            }
+
+            if (stopSending()) {
+                // Dropped by the watchdog, the write has finally returned or failed: give the compensation thread back
+                resizeDispatcher(-1);
+                try {
+                    emitter.completeWithError(new IOException("Change stream subscriber stopped reading"));
+                } catch (RuntimeException e) {
+                    log.debug("Could not complete dropped subscriber: {}", e.getMessage());
+                }
+                return;
+            }
+            if (failure != null) {
+                // The client disconnected or the emitter already completed
+                log.debug("Dropping change stream subscriber: {}", failure.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(failure);
+                return;
+            }
+
+            // An event published while this drain was finishing may have seen "scheduled" still set
+            if (buffer.lastSequence() >= nextSequence) {
+                schedule();
+            }
+        }
+
+        private void sendPending() throws IOException {
+            int sent = 0;
+            while (sent < BATCH_SIZE) {
+                batch.clear();
+                int read = nextSequence < 1 ? -1 : buffer.read(nextSequence, BATCH_SIZE - sent, batch);
+                if (read < 0) {
+                    long resumeAt = buffer.oldestAvailableSequence();
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(resumeAt - 1))
+                            .name("reset")
+                            .data("{}", MediaType.APPLICATION_JSON));
+                    nextSequence = resumeAt;
+                    continue;
+                }
+                if (read == 0) {
+                    break;
+                }
+                for (ChangeEvent event : batch) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getSequence()))
+                            .name("change")
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+                nextSequence = batch.get(batch.size() - 1).getSequence() + 1;
+                sent += read;
+            }
+
+            if (heartbeatPending) {
+                heartbeatPending = false;
+                emitter.send(SseEmitter.event().comment("keepalive"));
+            }
+        }
+    }
+}
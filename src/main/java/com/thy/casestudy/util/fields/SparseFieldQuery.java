@@ -0,0 +1,157 @@
+package com.thy.casestudy.util.fields;
+
+import com.thy.casestudy.util.exceptions.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implements the "fields" query parameter (sparse fieldsets): only the requested columns are selected,
+ * through a JPA Criteria tuple query, instead of loading whole entities and filtering the JSON afterwards.
+ * <p>
+ * Each endpoint declares which fields can be selected as "JSON name -> attribute path", e.g. "departmentId" -> "department.id".
+ * Referencing the id of a "@ManyToOne" reads the foreign key column, so no join is needed.
+ */
+@Component
+public class SparseFieldQuery {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public SparseFieldQuery(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Builds the selectable fields of an endpoint from "name, path" pairs, keeping their order
+     */
+    public static Map<String, String> selectable(String... namesAndPaths) {
+        Map<String, String> selectable = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndPaths.length; i += 2) {
+            selectable.put(namesAndPaths[i], namesAndPaths[i + 1]);
+        }
+        return Collections.unmodifiableMap(selectable);
+    }
+
+    public <T> Page<Map<String, Object>> findAll(Class<T> entityClass, Map<String, String> selectable, String fields, Pageable pageable) {
+        List<String> selected = parse(fields, selectable);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        query.multiselect(selections(root, selectable, selected));
+        query.orderBy(orders(cb, root, selectable, pageable.getSort()));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = toMaps(typedQuery.getResultList(), selected);
+
+        // The count query is skipped when the page itself tells how many rows there are
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(entityClass));
+    }
+
+    public <T> Optional<Map<String, Object>> findById(Class<T> entityClass, Map<String, String> selectable, String fields, Long id) {
+        List<String> selected = parse(fields, selectable);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        query.multiselect(selections(root, selectable, selected));
+        query.where(cb.equal(root.get("id"), id));
+
+        return toMaps(entityManager.createQuery(query).getResultList(), selected).stream().findFirst();
+    }
+
+    /**
+     * Parses a comma separated list of fields, rejecting the ones that cannot be selected
+     */
+    static List<String> parse(String fields, Map<String, String> selectable) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!selectable.containsKey(name)) {
+                throw new BadRequestException("Unknown field '" + name + "', allowed fields are: " + String.join(", ", selectable.keySet()));
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new BadRequestException("At least one field must be requested, allowed fields are: " + String.join(", ", selectable.keySet()));
+        }
+        return new ArrayList<>(selected);
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, Map<String, String> selectable, List<String> selected) {
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            selections.add(path(root, selectable.get(field)).alias(field));
+        }
+        return selections;
+    }
+
+    private static List<Order> orders(CriteriaBuilder cb, Root<?> root, Map<String, String> selectable, Sort sort) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String attributePath = selectable.get(order.getProperty());
+            if (attributePath == null) {
+                throw new BadRequestException("Cannot sort by '" + order.getProperty() + "', allowed fields are: " + String.join(", ", selectable.keySet()));
+            }
+            Path<?> path = path(root, attributePath);
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        return orders;
+    }
+
+    private static Path<?> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    private static List<Map<String, Object>> toMaps(List<Tuple> tuples, List<String> selected) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(selected.size() * 2);
+            for (int i = 0; i < selected.size(); i++) {
+                row.put(selected.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private long count(Class<?> entityClass) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(entityClass)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
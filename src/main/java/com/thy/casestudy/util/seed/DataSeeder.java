@@ -0,0 +1,152 @@
+package com.thy.casestudy.util.seed;
+
+import com.thy.casestudy.util.counters.CounterReconciliationJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty database with synthetic data at startup ("seed" profile), e.g. to reproduce production volumes locally:
+ * java -Xmx4g -jar casestudy.jar --spring.profiles.active=seed --seed.employees=5000000 --seed.students=2000000
+ * <p>
+ * Rows are written with batched JDBC inserts, bypassing JPA (and its entity listeners), so the report counters are
+ * reconciled once at the end. Employees and students are spread with a power-law skew: a few departments / courses
+ * are very large and most are small, like real organizations.
+ */
+@Component
+@Profile("seed")
+public class DataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CounterReconciliationJob counterReconciliationJob;
+
+    private final int departments;
+    private final int employees;
+    private final int courses;
+    private final int students;
+    private final int batchSize;
+    private final double skew;
+    private final long randomSeed;
+
+    @Autowired
+    public DataSeeder(JdbcTemplate jdbcTemplate, CounterReconciliationJob counterReconciliationJob,
+                      @Value("${seed.departments:10000}") int departments,
+                      @Value("${seed.employees:500000}") int employees,
+                      @Value("${seed.courses:100}") int courses,
+                      @Value("${seed.students:200000}") int students,
+                      @Value("${seed.batch-size:1000}") int batchSize,
+                      @Value("${seed.skew:3.0}") double skew,
+                      @Value("${seed.random-seed:42}") long randomSeed) {
+        // Fails at startup rather than half way through an insert
+        if (departments < 0 || employees < 0 || courses < 0 || students < 0) {
+            throw new IllegalArgumentException("Seed counts must not be negative");
+        }
+        if (departments == 0 && employees > 0) {
+            throw new IllegalArgumentException("seed.employees requires seed.departments > 0");
+        }
+        if (courses == 0 && students > 0) {
+            throw new IllegalArgumentException("seed.students requires seed.courses > 0");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("seed.batch-size must be positive: " + batchSize);
+        }
+        if (skew <= 0) {
+            throw new IllegalArgumentException("seed.skew must be positive: " + skew);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.counterReconciliationJob = counterReconciliationJob;
+        this.departments = departments;
+        this.employees = employees;
+        this.courses = courses;
+        this.students = students;
+        this.batchSize = batchSize;
+        this.skew = skew;
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from department", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Database already contains data, skipping seeding");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+
+        insertParents("insert into department (name) values (?)", "Department ", departments);
+        long[] departmentIds = ids("select id from department order by id");
+        insertChildren("insert into employee (name, department_id) values (?, ?)", "Employee ", employees, departmentIds, random);
+
+        insertParents("insert into course (name) values (?)", "Course ", courses);
+        long[] courseIds = ids("select id from course order by id");
+        insertChildren("insert into student (name, course_id) values (?, ?)", "Student ", students, courseIds, random);
+
+        counterReconciliationJob.reconcile();
+        log.info("Seeded {} departments, {} employees, {} courses and {} students in {} ms",
+                departments, employees, courses, students, System.currentTimeMillis() - start);
+    }
+
+    private void insertParents(String sql, String namePrefix, int count) {
+        for (int from = 0; from < count; from += batchSize) {
+            int first = from;
+            int size = Math.min(batchSize, count - from);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, namePrefix + (first + i + 1));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    private void insertChildren(String sql, String namePrefix, int count, long[] parentIds, SplittableRandom random) {
+        for (int from = 0; from < count; from += batchSize) {
+            int first = from;
+            int size = Math.min(batchSize, count - from);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, namePrefix + (first + i + 1));
+                    ps.setLong(2, parentIds[skewedIndex(random, parentIds.length)]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+            if ((from / batchSize) % 100 == 0) {
+                log.info("Inserted {} / {} rows into {}", from + size, count, sql.split(" ")[2]);
+            }
+        }
+    }
+
+    // u^skew with u uniform in [0, 1) favours the first parents: with skew 3, 10% of the parents get about half of the rows
+    private int skewedIndex(SplittableRandom random, int bound) {
+        return (int) (Math.pow(random.nextDouble(), skew) * bound);
+    }
+
+    private long[] ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,36 @@
+package com.thy.casestudy.util.token;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.stream.Stream;
+
+/**
+ * JJWT finds its implementation classes by name ("jjwt-impl" and "jjwt-jackson" are runtime dependencies only),
+ * which a GraalVM native image cannot see without these hints
+ */
+public class JjwtRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Instantiated by name (io.jsonwebtoken.lang.Classes) from Jwts.builder(), Jwts.parserBuilder()... or through java.util.ServiceLoader
+        Stream.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        ).forEach(type -> hints.reflection().registerTypeIfPresent(classLoader, type,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        // The serializer, deserializer and compression codecs are looked up with java.util.ServiceLoader
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+}
@@ -0,0 +1,28 @@
+package com.thy.casestudy.util.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects (counters, change notifications...) until the surrounding transaction has committed,
+ * so that a rolled back write never becomes visible outside the database
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            // No transaction to wait for, e.g. a flush outside of a transactional method
+            action.run();
+        }
+    }
+}
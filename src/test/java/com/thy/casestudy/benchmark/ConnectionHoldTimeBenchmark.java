@@ -0,0 +1,175 @@
+package com.thy.casestudy.benchmark;
+
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.repositories.DepartmentRepository;
+import com.thy.casestudy.repositories.EmployeeRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures how long a JDBC connection is held per request, with and without open-session-in-view.
+ * Run with: mvn test -Pbenchmark -Dtest=ConnectionHoldTimeBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ConnectionHoldTimeBenchmark.HoldTimeConfig.class)
+class ConnectionHoldTimeBenchmark {
+
+    private static final int DEPARTMENTS = 100;
+    private static final int EMPLOYEES_PER_DEPARTMENT = 20;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Nested
+    @TestPropertySource(properties = "spring.jpa.open-in-view=true")
+    class OpenInViewEnabled extends Scenario {
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.jpa.open-in-view=false")
+    class OpenInViewDisabled extends Scenario {
+    }
+
+    abstract static class Scenario {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private HoldTimeRecorder recorder;
+
+        @Autowired
+        private DepartmentRepository departmentRepository;
+
+        @Autowired
+        private EmployeeRepository employeeRepository;
+
+        @Test
+        @WithMockUser
+        void departmentsPage() throws Exception {
+            if (departmentRepository.count() == 0) {
+                seed();
+            }
+
+            for (int i = 0; i < WARMUP; i++) {
+                request();
+            }
+            recorder.reset();
+            for (int i = 0; i < ITERATIONS; i++) {
+                request();
+            }
+
+            List<Long> holdTimes = recorder.holdTimesNanos();
+            Collections.sort(holdTimes);
+            long total = holdTimes.stream().mapToLong(Long::longValue).sum();
+            System.out.printf("%-20s %.2f connections/request, held %8.1f us/request, p50 %8.1f us, p99 %8.1f us per connection%n",
+                    getClass().getSimpleName(),
+                    holdTimes.size() / (double) ITERATIONS,
+                    total / 1000.0 / ITERATIONS,
+                    holdTimes.get(holdTimes.size() / 2) / 1000.0,
+                    holdTimes.get((int) (holdTimes.size() * 0.99)) / 1000.0);
+        }
+
+        private void request() throws Exception {
+            mockMvc.perform(get("/api/departments?size=" + DEPARTMENTS)).andExpect(status().isOk());
+        }
+
+        private void seed() {
+            for (int d = 0; d < DEPARTMENTS; d++) {
+                Department department = new Department();
+                department.setName("Department " + d);
+                departmentRepository.save(department);
+
+                List<Employee> employees = new ArrayList<>(EMPLOYEES_PER_DEPARTMENT);
+                for (int e = 0; e < EMPLOYEES_PER_DEPARTMENT; e++) {
+                    Employee employee = new Employee();
+                    employee.setName("Employee " + d + "-" + e);
+                    employee.setDepartment(department);
+                    employees.add(employee);
+                }
+                employeeRepository.saveAll(employees);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class HoldTimeConfig {
+        @Bean
+        static HoldTimeRecorder holdTimeRecorder() {
+            return new HoldTimeRecorder();
+        }
+    }
+
+    /**
+     * Wraps the DataSource to record the time between getting a connection and closing (returning) it
+     */
+    static class HoldTimeRecorder implements BeanPostProcessor {
+
+        private final List<Long> holdTimes = Collections.synchronizedList(new ArrayList<>());
+
+        void reset() {
+            holdTimes.clear();
+        }
+
+        List<Long> holdTimesNanos() {
+            synchronized (holdTimes) {
+                return new ArrayList<>(holdTimes);
+            }
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return recording(super.getConnection());
+                }
+            };
+        }
+
+        private Connection recording(Connection connection) {
+            long acquiredAt = System.nanoTime();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                    holdTimes.add(System.nanoTime() - acquiredAt);
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.thy.casestudy.benchmark;
+
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.repositories.DepartmentRepository;
+import com.thy.casestudy.repositories.EmployeeRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares the response size and the heap allocated per request with and without "?fields=".
+ * Run with: mvn test -Pbenchmark -Dtest=SparseFieldsBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SparseFieldsBenchmark {
+
+    private static final int DEPARTMENTS = 200;
+    private static final int EMPLOYEES_PER_DEPARTMENT = 20;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    // HotSpot specific, gives the bytes allocated by the current thread (MockMvc runs the request on the caller thread)
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeAll
+    void seed() {
+        for (int d = 0; d < DEPARTMENTS; d++) {
+            Department department = new Department();
+            department.setName("Department " + d);
+            departmentRepository.save(department);
+
+            List<Employee> employees = new ArrayList<>(EMPLOYEES_PER_DEPARTMENT);
+            for (int e = 0; e < EMPLOYEES_PER_DEPARTMENT; e++) {
+                Employee employee = new Employee();
+                employee.setName("Employee " + d + "-" + e);
+                employee.setDepartment(department);
+                employees.add(employee);
+            }
+            employeeRepository.saveAll(employees);
+        }
+    }
+
+    @Test
+    void departments() throws Exception {
+        compare("/api/departments?size=100", "/api/departments?size=100&fields=id,name");
+    }
+
+    @Test
+    void employees() throws Exception {
+        compare("/api/employees?size=100", "/api/employees?size=100&fields=id,name");
+    }
+
+    private void compare(String full, String sparse) throws Exception {
+        Result fullResult = measure(full);
+        Result sparseResult = measure(sparse);
+
+        System.out.printf("%-45s %10d bytes/response %12d bytes allocated/request%n", full, fullResult.responseBytes, fullResult.allocatedBytes);
+        System.out.printf("%-45s %10d bytes/response %12d bytes allocated/request%n", sparse, sparseResult.responseBytes, sparseResult.allocatedBytes);
+
+        assertTrue(sparseResult.responseBytes <= fullResult.responseBytes);
+    }
+
+    private Result measure(String url) throws Exception {
+        int responseBytes = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            responseBytes = request(url);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            request(url);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        return new Result(responseBytes, allocated / ITERATIONS);
+    }
+
+    private int request(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
+    }
+
+    private record Result(int responseBytes, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.thy.casestudy.controller;
+
+import com.thy.casestudy.util.events.ChangeFeed;
+import com.thy.casestudy.util.token.JwtTokenUtil;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeStreamControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Test
+    void asyncDispatchOfCompletedStreamIsPermitted() throws Exception {
+        int subscribers = changeFeed.subscriberCount();
+        MvcResult result = mockMvc.perform(get("/api/stream/changes")
+                        .header("Authorization", "Bearer " + jwtTokenUtil.generateToken("admin")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Simulates the container timing the connection out, which completes the emitter and dispatches the request again
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        // The ASYNC dispatch carries no JWT, it must not be rejected by the security filter chain
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        assertEquals(subscribers, changeFeed.subscriberCount());
+    }
+
+    @Test
+    void streamRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/stream/changes"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,116 @@
+package com.thy.casestudy.controller;
+
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.repositories.DepartmentRepository;
+import com.thy.casestudy.repositories.EmployeeRepository;
+import com.thy.casestudy.util.token.JwtTokenUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own in-memory database, so that the totals only include the rows created here
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:employeecontrollertest")
+@AutoConfigureMockMvc
+class EmployeeControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Department hr;
+    private Employee withoutDepartment;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        hr = departmentRepository.save(department("HR"));
+        Department it = departmentRepository.save(department("IT"));
+        employeeRepository.save(employee("Alice", hr));
+        employeeRepository.save(employee("Bob", it));
+        withoutDepartment = employeeRepository.save(employee("Carol", null));
+    }
+
+    @Test
+    void selectsOnlyRequestedFieldsWithPaging() throws Exception {
+        mockMvc.perform(authenticated(get("/api/employees").param("fields", "id,departmentId").param("sort", "id").param("size", "2")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].departmentId").value(hr.getId()))
+                .andExpect(jsonPath("$.content[0].name").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2));
+
+        // Selecting the foreign key must not turn into an inner join that drops employees without department
+        mockMvc.perform(authenticated(get("/api/employees").param("fields", "name,departmentId").param("sort", "id").param("size", "2").param("page", "1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Carol"))
+                .andExpect(jsonPath("$.content[0].departmentId").value(nullValue()))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    void sortsByForeignKey() throws Exception {
+        mockMvc.perform(authenticated(get("/api/employees").param("fields", "name").param("sort", "departmentId,desc").param("sort", "id")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].name").value("Bob"));
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndSortProperties() throws Exception {
+        mockMvc.perform(authenticated(get("/api/employees").param("fields", "id,salary")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(authenticated(get("/api/employees").param("fields", "id").param("sort", "salary")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findsByIdWithFields() throws Exception {
+        mockMvc.perform(authenticated(get("/api/employees/{id}", withoutDepartment.getId()).param("fields", "name,departmentId")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Carol"))
+                .andExpect(jsonPath("$.departmentId").value(nullValue()))
+                .andExpect(jsonPath("$.id").doesNotExist());
+
+        mockMvc.perform(authenticated(get("/api/employees/{id}", withoutDepartment.getId() + 1000).param("fields", "id")))
+                .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + jwtTokenUtil.generateToken("admin"));
+    }
+
+    private static Department department(String name) {
+        Department department = new Department();
+        department.setName(name);
+        return department;
+    }
+
+    private static Employee employee(String name, Department department) {
+        Employee employee = new Employee();
+        employee.setName(name);
+        employee.setDepartment(department);
+        return employee;
+    }
+}
@@ -0,0 +1,82 @@
+package com.thy.casestudy.controller;
+
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.repositories.DepartmentRepository;
+import com.thy.casestudy.repositories.EmployeeRepository;
+import com.thy.casestudy.util.token.JwtTokenUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own in-memory database, so that the reports only include the rows created here
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reportcontrollertest")
+@AutoConfigureMockMvc
+class ReportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Department large;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        large = departmentRepository.save(department("Large"));
+        Department small = departmentRepository.save(department("Small"));
+        employeeRepository.save(employee("Alice", large));
+        employeeRepository.save(employee("Bob", large));
+        employeeRepository.save(employee("Carol", small));
+    }
+
+    @Test
+    void topWithLimitLargerThanTheNumberOfKeys() throws Exception {
+        // Neither overflows nor allocates a heap sized from the requested limit
+        for (int limit : new int[]{Integer.MAX_VALUE, 1_000_000_000}) {
+            mockMvc.perform(get("/api/reports/department-headcounts/top").param("limit", String.valueOf(limit))
+                            .header("Authorization", "Bearer " + jwtTokenUtil.generateToken("admin")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].id").value(large.getId()))
+                    .andExpect(jsonPath("$[0].count").value(2));
+        }
+    }
+
+    @Test
+    void topRejectsLimitBelowOne() throws Exception {
+        mockMvc.perform(get("/api/reports/department-headcounts/top").param("limit", "0")
+                        .header("Authorization", "Bearer " + jwtTokenUtil.generateToken("admin")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Department department(String name) {
+        Department department = new Department();
+        department.setName(name);
+        return department;
+    }
+
+    private static Employee employee(String name, Department department) {
+        Employee employee = new Employee();
+        employee.setName(name);
+        employee.setDepartment(department);
+        return employee;
+    }
+}
@@ -0,0 +1,216 @@
+package com.thy.casestudy.service;
+
+import com.thy.casestudy.controller.model.MoveRequest;
+import com.thy.casestudy.controller.model.MoveResponse;
+import com.thy.casestudy.entities.Course;
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.entities.Student;
+import com.thy.casestudy.repositories.CourseRepository;
+import com.thy.casestudy.repositories.DepartmentRepository;
+import com.thy.casestudy.repositories.EmployeeRepository;
+import com.thy.casestudy.repositories.StudentRepository;
+import com.thy.casestudy.util.counters.AggregateCounters;
+import com.thy.casestudy.util.events.ChangeEvent;
+import com.thy.casestudy.util.events.ChangeFeed;
+import com.thy.casestudy.util.exceptions.BadRequestException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {"bulk.move.chunk-size=10", "spring.jpa.properties.hibernate.generate_statistics=true"})
+class BulkMoveTests {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private AggregateCounters counters;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @SpyBean
+    private ChangeFeed changeFeed;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void movesEmployeesByIdWithTwoStatementsPerChunk() {
+        Department hr = departmentRepository.save(department("HR"));
+        Department it = departmentRepository.save(department("IT"));
+        Department sales = departmentRepository.save(department("Sales"));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(employeeRepository.save(employee("Employee " + i, i % 2 == 0 ? hr : it)).getId());
+        }
+        // Already in the target department, so not counted as moved
+        ids.add(employeeRepository.save(employee("Seller", sales)).getId());
+
+        MoveRequest request = new MoveRequest();
+        request.setIds(ids);
+        statistics.clear();
+        clearInvocations(changeFeed);
+        MoveResponse response = departmentService.moveEmployees(sales.getId(), request);
+
+        assertEquals(25, response.getMoved());
+        assertEquals(3, response.getChunks());
+        // Target lookup, then the rows that will change (with the department they leave) and the UPDATE for each chunk
+        assertEquals(1 + 2 * 3, statistics.getPrepareStatementCount());
+        verify(changeFeed, times(25)).publish(eq("employee"), anyLong(), eq(ChangeEvent.Type.UPDATED));
+        verify(changeFeed, never()).publish("employee", ids.get(25), ChangeEvent.Type.UPDATED);
+
+        assertEquals(0, counters.departmentHeadcounts().get(hr.getId()));
+        assertEquals(0, counters.departmentHeadcounts().get(it.getId()));
+        assertEquals(26, counters.departmentHeadcounts().get(sales.getId()));
+        assertEquals(sales.getId(), employeeRepository.findById(ids.get(0)).orElseThrow().getDepartment().getId());
+    }
+
+    @Test
+    void movesStudentsByFilterWithTwoStatementsPerChunk() {
+        Course math = courseRepository.save(course("Math"));
+        Course physics = courseRepository.save(course("Physics"));
+        for (int i = 0; i < 25; i++) {
+            studentRepository.save(student("Student " + i, math));
+        }
+        studentRepository.save(student("Auditor", math));
+
+        MoveRequest request = new MoveRequest();
+        request.setFromId(math.getId());
+        request.setNamePrefix("Student");
+        statistics.clear();
+        MoveResponse response = courseService.moveStudents(physics.getId(), request);
+
+        assertEquals(25, response.getMoved());
+        assertEquals(3, response.getChunks());
+        // Target lookup, then the next rows of the source course and the UPDATE for each chunk (the last one is partial)
+        assertEquals(1 + 2 * 3, statistics.getPrepareStatementCount());
+
+        assertEquals(1, counters.courseEnrollments().get(math.getId()));
+        assertEquals(25, counters.courseEnrollments().get(physics.getId()));
+    }
+
+    @Test
+    void publishesNothingForUnknownIds() {
+        Department hr = departmentRepository.save(department("HR"));
+
+        MoveRequest request = new MoveRequest();
+        request.setIds(List.of(12345L, 777L));
+        statistics.clear();
+        clearInvocations(changeFeed);
+        MoveResponse response = departmentService.moveEmployees(hr.getId(), request);
+
+        assertEquals(0, response.getMoved());
+        assertEquals(0, response.getChunks());
+        // Target lookup and the rows that would change, no UPDATE
+        assertEquals(2, statistics.getPrepareStatementCount());
+        verify(changeFeed, never()).publish(anyString(), any(), any());
+    }
+
+    @Test
+    void matchesNamePrefixLiterally() {
+        Course math = courseRepository.save(course("Math"));
+        Course physics = courseRepository.save(course("Physics"));
+        Student underscore = studentRepository.save(student("A_1", math));
+        studentRepository.save(student("AB1", math));
+        Student percent = studentRepository.save(student("100% Attendance", math));
+        studentRepository.save(student("1000 Days", math));
+
+        MoveRequest request = new MoveRequest();
+        request.setFromId(math.getId());
+        request.setNamePrefix("A_");
+        assertEquals(1, courseService.moveStudents(physics.getId(), request).getMoved());
+
+        request.setNamePrefix("100%");
+        assertEquals(1, courseService.moveStudents(physics.getId(), request).getMoved());
+
+        request.setNamePrefix("%");
+        assertEquals(0, courseService.moveStudents(physics.getId(), request).getMoved());
+
+        assertEquals(physics.getId(), studentRepository.findById(underscore.getId()).orElseThrow().getCourse().getId());
+        assertEquals(physics.getId(), studentRepository.findById(percent.getId()).orElseThrow().getCourse().getId());
+        assertEquals(2, counters.courseEnrollments().get(math.getId()));
+        assertEquals(2, counters.courseEnrollments().get(physics.getId()));
+    }
+
+    @Test
+    void rejectsChunkSizeBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedMove<Department>("employee", 0, null, null, null, null, null));
+    }
+
+    @Test
+    void rejectsAmbiguousSelection() {
+        Department hr = departmentRepository.save(department("HR"));
+        MoveRequest request = new MoveRequest();
+        request.setIds(List.of(1L));
+        request.setFromId(hr.getId());
+
+        assertThrows(BadRequestException.class, () -> departmentService.moveEmployees(hr.getId(), request));
+        assertThrows(BadRequestException.class, () -> departmentService.moveEmployees(hr.getId(), new MoveRequest()));
+    }
+
+    private static Department department(String name) {
+        Department department = new Department();
+        department.setName(name);
+        return department;
+    }
+
+    private static Employee employee(String name, Department department) {
+        Employee employee = new Employee();
+        employee.setName(name);
+        employee.setDepartment(department);
+        return employee;
+    }
+
+    private static Course course(String name) {
+        Course course = new Course();
+        course.setName(name);
+        return course;
+    }
+
+    private static Student student(String name, Course course) {
+        Student student = new Student();
+        student.setName(name);
+        student.setCourse(course);
+        return student;
+    }
+}
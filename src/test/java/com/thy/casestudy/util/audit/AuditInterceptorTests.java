@@ -0,0 +1,62 @@
+package com.thy.casestudy.util.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuditInterceptorTests {
+
+    @TempDir
+    Path directory;
+
+    private AuditLog auditLog;
+    private AuditInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        auditLog = new AuditLog(64, AuditRingBuffer.OverflowPolicy.DROP, directory.toString(), 4096, 2, 10, 1000);
+        auditLog.start();
+        interceptor = new AuditInterceptor(auditLog);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        auditLog.shutdown();
+    }
+
+    @Test
+    void recordsUnhandledExceptionAsServerError() throws Exception {
+        assertEquals(500, recordedStatus(200, new IllegalStateException("boom")));
+    }
+
+    @Test
+    void keepsStatusOfResolvedErrors() throws Exception {
+        assertEquals(404, recordedStatus(404, new IllegalStateException("not found")));
+        assertEquals(201, recordedStatus(201, null));
+    }
+
+    private int recordedStatus(int responseStatus, Exception ex) throws InterruptedException {
+        int before = auditLog.recent(Integer.MAX_VALUE).size();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/students");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        response.setStatus(responseStatus);
+        interceptor.afterCompletion(request, response, null, ex);
+
+        // The entry becomes visible once the consumer thread has drained it
+        List<AuditEntry> entries = auditLog.recent(Integer.MAX_VALUE);
+        for (int i = 0; i < 500 && entries.size() == before; i++) {
+            Thread.sleep(10);
+            entries = auditLog.recent(Integer.MAX_VALUE);
+        }
+        return entries.get(0).getStatus();
+    }
+}
@@ -0,0 +1,38 @@
+package com.thy.casestudy.util.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditLogTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void entryAfterIdlePeriodIsWrittenWithoutWaitingForTheBackOff() throws Exception {
+        // Force interval of 10 s: after idling, the consumer parks for hundreds of milliseconds at a time
+        AuditLog auditLog = new AuditLog(64, AuditRingBuffer.OverflowPolicy.DROP, directory.toString(), 4096, 2, 10, 10_000);
+        auditLog.start();
+        try {
+            // Parks of 1, 2, 4... ms: at 1.5 s the consumer is in the middle of a park of 1024 ms
+            Thread.sleep(1500);
+
+            long start = System.nanoTime();
+            auditLog.record("admin", "POST", "/api/employees", 200, 1_000);
+            while (auditLog.recent(1).isEmpty() && System.nanoTime() - start < 5_000_000_000L) {
+                Thread.sleep(1);
+            }
+            assertEquals(1, auditLog.recent(1).size());
+            // Unparked by "record" instead of sleeping until the end of that park
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsedMillis < 200, "written after " + elapsedMillis + " ms");
+        } finally {
+            auditLog.shutdown();
+        }
+    }
+}
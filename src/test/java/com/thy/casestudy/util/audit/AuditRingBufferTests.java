@@ -0,0 +1,76 @@
+package com.thy.casestudy.util.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditRingBufferTests {
+
+    @Test
+    void drainsInPublicationOrder() {
+        AuditRingBuffer buffer = new AuditRingBuffer(8, AuditRingBuffer.OverflowPolicy.DROP);
+        buffer.publish(1, "admin", "POST", "/api/employees", 200, 1_000);
+        buffer.publish(2, "admin", "DELETE", "/api/employees/1", 200, 2_000);
+
+        List<AuditEntry> entries = new ArrayList<>();
+        assertEquals(2, buffer.drain(10, entries::add));
+        assertEquals("POST", entries.get(0).getMethod());
+        assertEquals("/api/employees/1", entries.get(1).getPath());
+        assertEquals(2, entries.get(1).getDurationMicros());
+        assertEquals(0, buffer.drain(10, entries::add));
+    }
+
+    @Test
+    void countsDropsWhenFull() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4, AuditRingBuffer.OverflowPolicy.DROP);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.publish(i, "admin", "PUT", "/api/courses/1", 200, 0));
+        }
+        assertFalse(buffer.publish(5, "admin", "PUT", "/api/courses/1", 200, 0));
+        assertEquals(1, buffer.droppedCount());
+
+        // Draining frees the slots again
+        assertEquals(4, buffer.drain(10, entry -> { }));
+        assertTrue(buffer.publish(6, "admin", "PUT", "/api/courses/1", 200, 0));
+        assertEquals(5, buffer.publishedCount());
+    }
+
+    @Test
+    void keepsEveryEventFromConcurrentProducers() throws InterruptedException {
+        AuditRingBuffer buffer = new AuditRingBuffer(64, AuditRingBuffer.OverflowPolicy.BLOCK);
+        int producers = 4;
+        int eventsPerProducer = 10_000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String subject = "user" + p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    buffer.publish(i, subject, "POST", "/api/students", 200, 0);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        long expectedSequence = 1;
+        int total = producers * eventsPerProducer;
+        List<AuditEntry> entries = new ArrayList<>();
+        while (expectedSequence <= total) {
+            entries.clear();
+            buffer.drain(32, entries::add);
+            for (AuditEntry entry : entries) {
+                assertEquals(expectedSequence++, entry.getSequence());
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, buffer.droppedCount());
+    }
+}
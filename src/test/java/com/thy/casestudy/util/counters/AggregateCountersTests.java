@@ -0,0 +1,92 @@
+package com.thy.casestudy.util.counters;
+
+import com.thy.casestudy.entities.Department;
+import com.thy.casestudy.entities.Employee;
+import com.thy.casestudy.repositories.DepartmentRepository;
+import com.thy.casestudy.repositories.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AggregateCountersTests {
+
+    @Autowired
+    private AggregateCounters counters;
+
+    @Autowired
+    private CounterReconciliationJob reconciliationJob;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void headcountFollowsEmployeeWrites() {
+        Department hr = departmentRepository.save(department("HR"));
+        Department it = departmentRepository.save(department("IT"));
+        KeyedCounter headcounts = counters.departmentHeadcounts();
+        assertEquals(0, headcounts.get(hr.getId()));
+
+        Employee alice = employeeRepository.save(employee("Alice", hr));
+        employeeRepository.save(employee("Bob", hr));
+        assertEquals(2, headcounts.get(hr.getId()));
+
+        // Moving an employee loads it again, so the listener sees the department it leaves
+        Employee loaded = employeeRepository.findById(alice.getId()).orElseThrow();
+        loaded.setDepartment(it);
+        employeeRepository.save(loaded);
+        assertEquals(1, headcounts.get(hr.getId()));
+        assertEquals(1, headcounts.get(it.getId()));
+
+        employeeRepository.deleteById(alice.getId());
+        assertEquals(0, headcounts.get(it.getId()));
+
+        // Drift is corrected by the reconciliation job
+        headcounts.add(hr.getId(), 41);
+        reconciliationJob.reconcile();
+        assertEquals(1, headcounts.get(hr.getId()));
+        assertEquals(departmentRepository.countEmployeesPerDepartment().size(), headcounts.snapshot().size());
+
+        departmentRepository.deleteById(it.getId());
+        assertFalse(headcounts.contains(it.getId()));
+    }
+
+    @Test
+    void resetKeepsKeysRegisteredAfterTheQuery() {
+        KeyedCounter counter = new KeyedCounter();
+        counter.add(1L, 3);
+        counter.register(2L);
+        Set<Long> keysBefore = Set.copyOf(counter.snapshot().keySet());
+
+        // Department 2 was deleted before the query ran, department 3 was committed after it
+        counter.register(3L);
+        counter.resetTo(Map.of(1L, 2L), keysBefore);
+
+        assertEquals(2, counter.get(1L));
+        assertFalse(counter.contains(2L));
+        assertTrue(counter.contains(3L));
+    }
+
+    private static Department department(String name) {
+        Department department = new Department();
+        department.setName(name);
+        return department;
+    }
+
+    private static Employee employee(String name, Department department) {
+        Employee employee = new Employee();
+        employee.setName(name);
+        employee.setDepartment(department);
+        return employee;
+    }
+}
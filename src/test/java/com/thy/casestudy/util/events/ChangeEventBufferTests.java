@@ -0,0 +1,47 @@
+package com.thy.casestudy.util.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChangeEventBufferTests {
+
+    @Test
+    void readsFromAGivenSequence() {
+        ChangeEventBuffer buffer = new ChangeEventBuffer(8);
+        for (long id = 1; id <= 5; id++) {
+            buffer.publish("employee", id, ChangeEvent.Type.CREATED);
+        }
+
+        List<ChangeEvent> events = new ArrayList<>();
+        assertEquals(3, buffer.read(3, 10, events));
+        assertEquals(List.of(3L, 4L, 5L), events.stream().map(ChangeEvent::getId).toList());
+
+        // Nothing new yet
+        assertEquals(0, buffer.read(6, 10, new ArrayList<>()));
+    }
+
+    @Test
+    void detectsReadersThatWereLapped() {
+        ChangeEventBuffer buffer = new ChangeEventBuffer(4);
+        for (long id = 1; id <= 10; id++) {
+            buffer.publish("student", id, ChangeEvent.Type.UPDATED);
+        }
+
+        assertEquals(-1, buffer.read(2, 10, new ArrayList<>()));
+        assertEquals(7, buffer.oldestAvailableSequence());
+
+        List<ChangeEvent> events = new ArrayList<>();
+        assertEquals(4, buffer.read(buffer.oldestAvailableSequence(), 10, events));
+        assertEquals(10, events.get(3).getSequence());
+    }
+
+    @Test
+    void rejectsCapacitiesThatAreNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeEventBuffer(1000));
+    }
+}
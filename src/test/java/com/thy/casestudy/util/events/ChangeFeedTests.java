@@ -0,0 +1,95 @@
+package com.thy.casestudy.util.events;
+
+import com.thy.casestudy.util.token.JwtTokenUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A single dispatcher thread, so a subscriber that blocks it would stall every other subscriber without the watchdog
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"stream.changes.dispatcher-threads=1", "stream.changes.send-timeout-ms=500"})
+class ChangeFeedTests {
+
+    private static final long MARKER_ID = Long.MAX_VALUE;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Test
+    void subscriberThatStopsReadingIsDroppedWithoutStallingOthers() throws Exception {
+        String token = jwtTokenUtil.generateToken("admin");
+        int subscribersBefore = changeFeed.subscriberCount();
+
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        HttpResponse<Stream<String>> healthy = HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/stream/changes"))
+                .header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.ofLines());
+        Thread reader = new Thread(() -> healthy.body().forEach(received::add));
+        reader.setDaemon(true);
+        reader.start();
+
+        try (Socket stalled = new Socket()) {
+            stalled.setReceiveBufferSize(1024);
+            stalled.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = stalled.getOutputStream();
+            out.write(("GET /api/stream/changes HTTP/1.1\r\nHost: localhost\r\nAuthorization: Bearer " + token + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            awaitSubscribers(subscribersBefore + 2);
+
+            // Never reads: publishes until the server side socket buffers are full and the watchdog drops the connection
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (changeFeed.subscriberCount() > subscribersBefore + 1 && System.nanoTime() < deadline) {
+                for (int i = 0; i < 1000; i++) {
+                    changeFeed.publish("employee", (long) i, ChangeEvent.Type.UPDATED);
+                }
+                Thread.sleep(10);
+            }
+            assertEquals(subscribersBefore + 1, changeFeed.subscriberCount());
+
+            // The healthy subscriber keeps receiving events while the dropped one's write is still blocked
+            changeFeed.publish("employee", MARKER_ID, ChangeEvent.Type.CREATED);
+            assertTrue(awaitLine(received, "\"id\":" + MARKER_ID, 5000));
+        }
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && changeFeed.subscriberCount() < count; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, changeFeed.subscriberCount());
+    }
+
+    private static boolean awaitLine(BlockingQueue<String> lines, String content, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        String line;
+        while ((line = lines.poll(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) != null) {
+            if (line.contains(content)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.thy.casestudy.util.fields;
+
+import com.thy.casestudy.util.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SparseFieldQueryTests {
+
+    private static final Map<String, String> SELECTABLE = SparseFieldQuery.selectable("id", "id", "name", "name", "departmentId", "department.id");
+
+    @Test
+    void keepsRequestedOrderAndDropsDuplicates() {
+        assertEquals(List.of("name", "id"), SparseFieldQuery.parse(" name,id,,name ", SELECTABLE));
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        BadRequestException e = assertThrows(BadRequestException.class, () -> SparseFieldQuery.parse("id,employees", SELECTABLE));
+        assertEquals("Unknown field 'employees', allowed fields are: id, name, departmentId", e.getMessage());
+    }
+
+    @Test
+    void rejectsEmptySelection() {
+        assertThrows(BadRequestException.class, () -> SparseFieldQuery.parse(" , ", SELECTABLE));
+    }
+}
@@ -0,0 +1,62 @@
+package com.thy.casestudy.util.seed;
+
+import com.thy.casestudy.util.counters.AggregateCounters;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Own in-memory database, the other test contexts share "testdb"
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:seedtest",
+        "seed.departments=5", "seed.employees=200", "seed.courses=3", "seed.students=50", "seed.batch-size=7"})
+@ActiveProfiles("seed")
+class DataSeederTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AggregateCounters counters;
+
+    @Test
+    void seedsRowsAndReconcilesCounters() {
+        assertEquals(5, count("department"));
+        assertEquals(200, count("employee"));
+        assertEquals(3, count("course"));
+        assertEquals(50, count("student"));
+
+        Map<Long, Long> headcounts = counters.departmentHeadcounts().snapshot();
+        assertEquals(5, headcounts.size());
+        assertEquals(200, headcounts.values().stream().mapToLong(Long::longValue).sum());
+        // Power-law skew: the first department is the largest
+        long first = headcounts.get(jdbcTemplate.queryForObject("select min(id) from department", Long.class));
+        assertTrue(headcounts.values().stream().allMatch(count -> count <= first));
+
+        Map<Long, Long> enrollments = counters.courseEnrollments().snapshot();
+        assertEquals(3, enrollments.size());
+        assertEquals(50, enrollments.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> seeder(0, 10, 1, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> seeder(1, 0, 0, 10, 100));
+        assertThrows(IllegalArgumentException.class, () -> seeder(1, 10, 1, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> seeder(-1, 0, 1, 10, 100));
+    }
+
+    private static DataSeeder seeder(int departments, int employees, int courses, int students, int batchSize) {
+        return new DataSeeder(null, null, departments, employees, courses, students, batchSize, 3.0, 42);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+}